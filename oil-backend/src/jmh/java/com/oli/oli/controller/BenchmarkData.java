@@ -0,0 +1,187 @@
+package com.oli.oli.controller;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.oli.oli.model.Category;
+import com.oli.oli.model.OrderEntity;
+import com.oli.oli.model.OrderItemEntity;
+import com.oli.oli.model.Product;
+import com.oli.oli.model.SubCategory;
+import com.oli.oli.model.User;
+
+/**
+ * Deterministic synthetic data for the benchmarks. A fixed seed keeps runs comparable.
+ */
+final class BenchmarkData {
+
+    private static final String[] WORDS = {
+            "coconut", "mustard", "groundnut", "sesame", "almond", "olive", "sunflower", "castor",
+            "cold", "pressed", "wood", "virgin", "organic", "pure", "natural", "kachi", "ghani", "bottle"
+    };
+    private static final String[] TAGS = {
+            "organic", "cold-pressed", "cooking", "hair care", "skin care", "wood pressed", "premium", "family pack"
+    };
+    private static final String[] STATUSES = { "pending", "processing", "shipped", "delivered", "cancelled" };
+    private static final String[] PAYMENT_STATUSES = { "paid", "paid", "paid", "pending", "failed" };
+    private static final String[] PROVIDERS = { "ithink", "manual", "", "other" };
+
+    private BenchmarkData() {
+    }
+
+    static List<Product> products(int size) {
+        SplittableRandom random = new SplittableRandom(42);
+        List<Category> categories = new ArrayList<>();
+        List<SubCategory> subCategories = new ArrayList<>();
+        for (long i = 1; i <= 8; i++) {
+            Category c = new Category();
+            c.setId(i);
+            categories.add(c);
+            SubCategory s = new SubCategory();
+            s.setId(i);
+            subCategories.add(s);
+        }
+
+        List<Product> products = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Product p = new Product();
+            p.setId((long) i + 1);
+            p.setCategory(categories.get(random.nextInt(categories.size())));
+            p.setSubCategory(subCategories.get(random.nextInt(subCategories.size())));
+            p.setName(sentence(random, 3) + " " + i);
+            p.setSlug("product-" + i);
+            p.setShortDescription(sentence(random, 8));
+            p.setDescription(sentence(random, 40));
+            p.setPrice(BigDecimal.valueOf(99 + random.nextInt(2000)));
+            p.setOriginalPrice(BigDecimal.valueOf(199 + random.nextInt(2500)));
+            p.setRating(1 + random.nextDouble() * 4);
+            p.setReviewCount(random.nextInt(500));
+            p.setSize((1 + random.nextInt(5)) * 250 + "ml");
+            p.setTagsCsv(tagsCsv(random));
+            p.setInStock(random.nextInt(10) > 0);
+            p.setFeatured(random.nextInt(5) == 0);
+            p.setBestseller(random.nextInt(7) == 0);
+            p.setNewLaunch(random.nextInt(9) == 0);
+            p.setImageUrl("/uploads/product-" + i + ".jpg");
+            products.add(p);
+        }
+        return products;
+    }
+
+    static List<String> tagsCsv(int size) {
+        SplittableRandom random = new SplittableRandom(7);
+        List<String> tags = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            tags.add(random.nextInt(20) == 0 ? "" : tagsCsv(random));
+        }
+        return tags;
+    }
+
+    static List<OrderEntity> orders(int size) {
+        SplittableRandom random = new SplittableRandom(11);
+        Instant now = Instant.now();
+        List<OrderEntity> orders = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            OrderEntity o = new OrderEntity();
+            o.setId("ORD" + i);
+            o.setCustomerName("Customer " + i);
+            o.setCustomerEmail("customer" + i + "@example.com");
+            o.setTotal(BigDecimal.valueOf(100 + random.nextInt(5000)));
+            o.setPaymentStatus(PAYMENT_STATUSES[random.nextInt(PAYMENT_STATUSES.length)]);
+            o.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            o.setDeliveryProvider(PROVIDERS[random.nextInt(PROVIDERS.length)]);
+            ReflectionTestUtils.setField(o, "createdAt", now.minus(random.nextInt(400), ChronoUnit.DAYS));
+            orders.add(o);
+        }
+        return orders;
+    }
+
+    static List<OrderItemEntity> orderItems(List<OrderEntity> orders, int perOrder) {
+        SplittableRandom random = new SplittableRandom(13);
+        List<OrderItemEntity> items = new ArrayList<>(orders.size() * perOrder);
+        for (OrderEntity o : orders) {
+            for (int j = 0; j < perOrder; j++) {
+                long productId = 1 + random.nextInt(200);
+                OrderItemEntity it = new OrderItemEntity();
+                it.setOrder(o);
+                it.setProductId(productId);
+                it.setProductName("Product " + productId);
+                it.setQuantity(1 + random.nextInt(4));
+                it.setUnitPrice(BigDecimal.valueOf(99 + productId));
+                items.add(it);
+            }
+        }
+        return items;
+    }
+
+    static List<User> users(int size) {
+        SplittableRandom random = new SplittableRandom(17);
+        Instant now = Instant.now();
+        List<User> users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            User u = new User();
+            u.setId((long) i + 1);
+            u.setEmail("user" + i + "@example.com");
+            ReflectionTestUtils.setField(u, "createdAt", now.minus(random.nextInt(400), ChronoUnit.DAYS));
+            users.add(u);
+        }
+        return users;
+    }
+
+    static List<String> customerIds(int size) {
+        SplittableRandom random = new SplittableRandom(19);
+        List<String> ids = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            switch (random.nextInt(4)) {
+                case 0 -> ids.add("user" + i + "@example.com");
+                case 1 -> ids.add("  +91 98765 " + (10000 + random.nextInt(89999)) + "  ");
+                case 2 -> ids.add("__--Customer Name " + i + "!!--__");
+                default -> ids.add("");
+            }
+        }
+        return ids;
+    }
+
+    static List<Map<String, Object>> courierRates(int size) {
+        SplittableRandom random = new SplittableRandom(23);
+        List<Map<String, Object>> rates = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Map<String, Object> m = new HashMap<>();
+            m.put("logistic_name", "Courier " + i);
+            m.put("rate", random.nextInt(25) == 0 ? "n/a" : String.valueOf(40 + random.nextInt(300) + random.nextInt(100) / 100.0));
+            rates.add(m);
+        }
+        return rates;
+    }
+
+    private static String sentence(SplittableRandom random, int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+
+    private static String tagsCsv(SplittableRandom random) {
+        int n = 1 + random.nextInt(4);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < n; i++) {
+            if (i > 0) {
+                sb.append(random.nextBoolean() ? ", " : ",");
+            }
+            sb.append(TAGS[random.nextInt(TAGS.length)]);
+        }
+        return sb.toString();
+    }
+}
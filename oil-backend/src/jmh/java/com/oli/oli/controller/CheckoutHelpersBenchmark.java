@@ -0,0 +1,46 @@
+package com.oli.oli.controller;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CheckoutHelpersBenchmark {
+
+    @Param({ "10", "100", "1000" })
+    public int size;
+
+    private List<String> customerIds;
+    private List<Map<String, Object>> courierRates;
+
+    @Setup
+    public void setUp() {
+        customerIds = BenchmarkData.customerIds(size);
+        courierRates = BenchmarkData.courierRates(size);
+    }
+
+    @Benchmark
+    public void safeCustomerId(Blackhole bh) {
+        for (String raw : customerIds) {
+            bh.consume(PaymentController.safeCustomerId(raw));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal extractMinRate() {
+        return IThinkController.extractMinRate(courierRates);
+    }
+}
@@ -0,0 +1,46 @@
+package com.oli.oli.controller;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.oli.oli.model.Product;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ProductMappingBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    public int size;
+
+    private List<Product> products;
+    private List<String> tags;
+
+    @Setup
+    public void setUp() {
+        products = BenchmarkData.products(size);
+        tags = BenchmarkData.tagsCsv(size);
+    }
+
+    @Benchmark
+    public void toDto(Blackhole bh) {
+        for (Product p : products) {
+            bh.consume(ProductController.toDto(p));
+        }
+    }
+
+    @Benchmark
+    public List<String> splitTags() {
+        return ProductController.splitTags(tags);
+    }
+}
@@ -0,0 +1,74 @@
+package com.oli.oli.controller;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.oli.oli.model.OrderEntity;
+import com.oli.oli.model.OrderItemEntity;
+import com.oli.oli.model.User;
+import com.oli.oli.repository.ArchivedOrderRepository;
+import com.oli.oli.repository.OrderItemRepository;
+import com.oli.oli.repository.OrderRepository;
+import com.oli.oli.repository.UserRepository;
+import com.oli.oli.service.OrderArchiveService;
+
+/**
+ * Measures the in-memory grouping of the admin reports. Repositories are stubbed so only the
+ * controller's own work on the loaded rows is timed.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ReportsBenchmark {
+
+    @Param({ "1000", "10000", "100000" })
+    public int size;
+
+    private ReportsController controller;
+
+    @Setup
+    public void setUp() {
+        List<OrderEntity> orders = BenchmarkData.orders(size);
+        List<OrderItemEntity> items = BenchmarkData.orderItems(orders, 3);
+        List<User> users = BenchmarkData.users(Math.max(1, size / 4));
+
+        OrderRepository orderRepository = mock(OrderRepository.class);
+        OrderItemRepository orderItemRepository = mock(OrderItemRepository.class);
+        UserRepository userRepository = mock(UserRepository.class);
+        when(orderRepository.findAll()).thenReturn(orders);
+        when(orderItemRepository.findAll()).thenReturn(items);
+        when(userRepository.findAll()).thenReturn(users);
+
+        // Nothing archived: the archive mocks return empty lists.
+        controller = new ReportsController(orderRepository, orderItemRepository, userRepository,
+                mock(ArchivedOrderRepository.class), mock(OrderArchiveService.class));
+    }
+
+    @Benchmark
+    public Map<String, Object> overview() {
+        return controller.overview(12);
+    }
+
+    @Benchmark
+    public Map<String, Object> topProducts() {
+        return controller.topProducts(3, 10);
+    }
+
+    @Benchmark
+    public Map<String, Object> ordersBreakdown() {
+        return controller.ordersBreakdown(12);
+    }
+}
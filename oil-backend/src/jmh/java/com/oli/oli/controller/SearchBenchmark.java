@@ -0,0 +1,79 @@
+package com.oli.oli.controller;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.oli.oli.App;
+import com.oli.oli.dto.ProductDto;
+import com.oli.oli.model.Category;
+import com.oli.oli.model.Product;
+import com.oli.oli.repository.CategoryRepository;
+import com.oli.oli.repository.ProductRepository;
+
+/**
+ * Measures the product half of {@code /api/search}: the escaped LIKE pattern and the {@code searchDtos} query.
+ * Matching happens in the database, so each trial boots the application against its own in-memory H2
+ * database seeded with {@code size} products; numbers are for H2, not PostgreSQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SearchBenchmark {
+
+    @Param({ "100", "1000", "10000" })
+    public int size;
+
+    @Param({ "mustard", "zzz" })
+    public String query;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplication(App.class).run(
+                "--spring.main.web-application-type=none",
+                "--spring.datasource.url=jdbc:h2:mem:search-benchmark-" + size + "-" + query
+                        + ";MODE=PostgreSQL;DB_CLOSE_DELAY=-1",
+                "--logging.level.root=WARN");
+        productRepository = context.getBean(ProductRepository.class);
+
+        Category category = new Category();
+        category.setName("Benchmark");
+        category.setSlug("benchmark");
+        category = context.getBean(CategoryRepository.class).save(category);
+
+        List<Product> products = BenchmarkData.products(size);
+        for (Product p : products) {
+            p.setId(null);
+            p.setCategory(category);
+            p.setSubCategory(null);
+            // The schema Hibernate generates for H2 caps description at 255 characters.
+            p.setDescription(p.getDescription().substring(0, Math.min(255, p.getDescription().length())));
+        }
+        productRepository.saveAll(products);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<ProductDto> searchDtos() {
+        String pattern = "%" + SearchController.escapeLike(query.trim().toLowerCase()) + "%";
+        return productRepository.searchDtos(pattern);
+    }
+}
@@ -0,0 +1,229 @@
+package com.oli.oli.loadtest;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.oli.oli.model.Category;
+import com.oli.oli.model.OrderEntity;
+import com.oli.oli.model.OrderItemEntity;
+import com.oli.oli.model.Product;
+import com.oli.oli.model.SubCategory;
+import com.oli.oli.model.User;
+import com.oli.oli.repository.CategoryRepository;
+import com.oli.oli.repository.OrderItemRepository;
+import com.oli.oli.repository.OrderRepository;
+import com.oli.oli.repository.ProductRepository;
+import com.oli.oli.repository.SubCategoryRepository;
+import com.oli.oli.repository.UserRepository;
+
+/**
+ * Seeds the catalog, customers and a year of order history through the application's own repositories.
+ * Creation timestamps are back-dated afterwards so the monthly reports have something to group.
+ */
+final class DataSeeder {
+
+    static final String[] SEARCH_TERMS = { "mustard", "coconut", "cold pressed", "sesame", "almond", "kachi ghani" };
+
+    private static final String[] WORDS = {
+            "coconut", "mustard", "groundnut", "sesame", "almond", "olive", "sunflower", "castor",
+            "cold", "pressed", "wood", "virgin", "organic", "pure", "natural", "kachi", "ghani", "bottle"
+    };
+    private static final String[] TAGS = {
+            "organic", "cold-pressed", "cooking", "hair care", "skin care", "wood pressed", "premium", "family pack"
+    };
+    private static final String[] STATUSES = { "pending", "processing", "shipped", "delivered", "cancelled" };
+    private static final String[] PAYMENT_STATUSES = { "paid", "paid", "paid", "pending", "failed" };
+    private static final String[] PROVIDERS = { "IThink", "Manual", "Manual" };
+    private static final int CHUNK = 1_000;
+
+    private final ApplicationContext context;
+    private final LoadTestSettings settings;
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    DataSeeder(ApplicationContext context, LoadTestSettings settings) {
+        this.context = context;
+        this.settings = settings;
+    }
+
+    void seed() {
+        List<Product> products = seedCatalog();
+        seedUsers();
+        seedOrders(products);
+    }
+
+    static String customerEmail(int i) {
+        return "customer" + i + "@loadtest.local";
+    }
+
+    private List<Product> seedCatalog() {
+        CategoryRepository categoryRepository = context.getBean(CategoryRepository.class);
+        SubCategoryRepository subCategoryRepository = context.getBean(SubCategoryRepository.class);
+        ProductRepository productRepository = context.getBean(ProductRepository.class);
+
+        List<Category> categories = new ArrayList<>();
+        List<SubCategory> subCategories = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            Category c = new Category();
+            c.setName("Category " + i);
+            c.setSlug("category-" + i);
+            categories.add(categoryRepository.save(c));
+            for (int j = 0; j < 3; j++) {
+                SubCategory s = new SubCategory();
+                s.setCategory(c);
+                s.setName("Sub " + i + "-" + j);
+                s.setSlug("sub-" + i + "-" + j);
+                subCategories.add(subCategoryRepository.save(s));
+            }
+        }
+
+        List<Product> saved = new ArrayList<>(settings.products());
+        List<Product> chunk = new ArrayList<>(CHUNK);
+        for (int i = 0; i < settings.products(); i++) {
+            SubCategory sub = subCategories.get(random.nextInt(subCategories.size()));
+            Product p = new Product();
+            p.setCategory(sub.getCategory());
+            p.setSubCategory(sub);
+            p.setName(sentence(3) + " oil " + i);
+            p.setSlug("product-" + i);
+            p.setShortDescription(sentence(8));
+            p.setDescription(sentence(25));
+            p.setPrice(BigDecimal.valueOf(99 + random.nextInt(2000)));
+            p.setOriginalPrice(BigDecimal.valueOf(199 + random.nextInt(2500)));
+            p.setRating(1 + random.nextDouble() * 4);
+            p.setReviewCount(random.nextInt(500));
+            p.setSize((1 + random.nextInt(5)) * 250 + "ml");
+            p.setTagsCsv(TAGS[random.nextInt(TAGS.length)] + "," + TAGS[random.nextInt(TAGS.length)]);
+            p.setInStock(random.nextInt(10) > 0);
+            p.setFeatured(random.nextInt(5) == 0);
+            p.setBestseller(random.nextInt(7) == 0);
+            p.setNewLaunch(random.nextInt(9) == 0);
+            chunk.add(p);
+            if (chunk.size() == CHUNK) {
+                saved.addAll(productRepository.saveAll(chunk));
+                chunk.clear();
+            }
+        }
+        saved.addAll(productRepository.saveAll(chunk));
+        return saved;
+    }
+
+    private void seedUsers() {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        Instant now = Instant.now();
+
+        List<User> chunk = new ArrayList<>(CHUNK);
+        for (int i = 0; i < settings.users(); i++) {
+            User u = new User();
+            u.setFirstName("Customer");
+            u.setLastName(String.valueOf(i));
+            u.setEmail(customerEmail(i));
+            u.setPhone(String.valueOf(9_000_000_000L + i));
+            u.setPasswordHash("{noop}loadtest");
+            chunk.add(u);
+            if (chunk.size() == CHUNK) {
+                userRepository.saveAll(chunk);
+                chunk.clear();
+            }
+        }
+        userRepository.saveAll(chunk);
+
+        List<Object[]> updates = new ArrayList<>(settings.users());
+        for (int i = 0; i < settings.users(); i++) {
+            updates.add(new Object[] { Timestamp.from(now.minus(random.nextInt(365), ChronoUnit.DAYS)), customerEmail(i) });
+        }
+        jdbc.batchUpdate("UPDATE users SET created_at = ? WHERE email = ?", updates);
+    }
+
+    private void seedOrders(List<Product> products) {
+        OrderRepository orderRepository = context.getBean(OrderRepository.class);
+        OrderItemRepository orderItemRepository = context.getBean(OrderItemRepository.class);
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        TransactionTemplate tx = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        Instant now = Instant.now();
+
+        List<OrderEntity> orders = new ArrayList<>(CHUNK);
+        List<OrderItemEntity> items = new ArrayList<>(CHUNK * settings.itemsPerOrder());
+        List<Object[]> updates = new ArrayList<>(settings.orders());
+        for (int i = 0; i < settings.orders(); i++) {
+            OrderEntity o = new OrderEntity();
+            o.setId("LT-" + i);
+            o.setCustomerName("Customer " + i);
+            o.setCustomerEmail(customerEmail(random.nextInt(Math.max(1, settings.users()))));
+            o.setShippingAddress("1 Load Test Road");
+            o.setShippingCity("Jaipur");
+            o.setShippingState("Rajasthan");
+            o.setShippingPincode("302001");
+            o.setPaymentMethod("online");
+            o.setPaymentStatus(PAYMENT_STATUSES[random.nextInt(PAYMENT_STATUSES.length)]);
+            o.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            o.setDeliveryProvider(PROVIDERS[random.nextInt(PROVIDERS.length)]);
+            o.setCashfreeOrderId("CF-LT-" + i);
+
+            BigDecimal subtotal = BigDecimal.ZERO;
+            for (int j = 0; j < settings.itemsPerOrder(); j++) {
+                Product p = products.get(random.nextInt(products.size()));
+                OrderItemEntity it = new OrderItemEntity();
+                it.setOrder(o);
+                it.setProductId(p.getId());
+                it.setProductName(p.getName());
+                it.setVariant(p.getSize());
+                it.setQuantity(1 + random.nextInt(3));
+                it.setUnitPrice(p.getPrice());
+                subtotal = subtotal.add(p.getPrice().multiply(BigDecimal.valueOf(it.getQuantity())));
+                items.add(it);
+            }
+            o.setSubtotal(subtotal);
+            o.setShipping(BigDecimal.valueOf(60));
+            o.setTotal(subtotal.add(o.getShipping()));
+            orders.add(o);
+            updates.add(new Object[] { Timestamp.from(now.minus(random.nextInt(365 * 24 * 60), ChronoUnit.MINUTES)), o.getId() });
+
+            if (orders.size() == CHUNK) {
+                saveOrders(tx, orderRepository, orderItemRepository, orders, items);
+            }
+        }
+        saveOrders(tx, orderRepository, orderItemRepository, orders, items);
+        jdbc.batchUpdate("UPDATE orders SET created_at = ? WHERE id = ?", updates);
+    }
+
+    // Order ids are assigned, so saveAll merges them; items are re-pointed at the managed copies before insert.
+    private static void saveOrders(TransactionTemplate tx, OrderRepository orderRepository,
+            OrderItemRepository orderItemRepository, List<OrderEntity> orders, List<OrderItemEntity> items) {
+        tx.executeWithoutResult(status -> {
+            Map<String, OrderEntity> managed = new HashMap<>();
+            for (OrderEntity o : orderRepository.saveAll(orders)) {
+                managed.put(o.getId(), o);
+            }
+            for (OrderItemEntity it : items) {
+                it.setOrder(managed.get(it.getOrder().getId()));
+            }
+            orderItemRepository.saveAll(items);
+        });
+        orders.clear();
+        items.clear();
+    }
+
+    private String sentence(int words) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < words; i++) {
+            if (i > 0) {
+                sb.append(' ');
+            }
+            sb.append(WORDS[random.nextInt(WORDS.length)]);
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,68 @@
+package com.oli.oli.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Per-thread latency samples for one scenario. Threads record into their own recorder and the results
+ * are merged once the run has finished, so recording never contends.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[4_096];
+    private int count;
+    private long errors;
+
+    void record(long nanos, boolean ok) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, samples.length * 2);
+        }
+        samples[count++] = nanos;
+        if (!ok) {
+            errors++;
+        }
+    }
+
+    static Result merge(String name, Iterable<LatencyRecorder> recorders, long elapsedNanos) {
+        int total = 0;
+        long errors = 0;
+        for (LatencyRecorder r : recorders) {
+            total += r.count;
+            errors += r.errors;
+        }
+        long[] all = new long[total];
+        int offset = 0;
+        for (LatencyRecorder r : recorders) {
+            System.arraycopy(r.samples, 0, all, offset, r.count);
+            offset += r.count;
+        }
+        Arrays.sort(all);
+        return new Result(name, total, errors, elapsedNanos,
+                percentile(all, 0.50), percentile(all, 0.99), total == 0 ? 0 : all[total - 1]);
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    record Result(String name, long requests, long errors, long elapsedNanos, long p50Nanos, long p99Nanos,
+            long maxNanos) {
+
+        double throughput() {
+            return elapsedNanos == 0 ? 0 : requests * 1_000_000_000.0 / elapsedNanos;
+        }
+
+        static String header() {
+            return String.format("%-42s %10s %8s %10s %10s %10s %10s",
+                    "scenario", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms");
+        }
+
+        String row() {
+            return String.format("%-42s %10d %8d %10.1f %10.2f %10.2f %10.2f",
+                    name, requests, errors, throughput(), p50Nanos / 1e6, p99Nanos / 1e6, maxNanos / 1e6);
+        }
+    }
+}
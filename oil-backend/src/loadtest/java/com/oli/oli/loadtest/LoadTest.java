@@ -0,0 +1,182 @@
+package com.oli.oli.loadtest;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.TimeZone;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.oli.oli.App;
+
+/**
+ * End-to-end load test: boots the application against a seeded database with Cashfree, iThink and the
+ * SMS gateway replaced by local stubs, then reports latency percentiles and throughput per endpoint.
+ *
+ * <p>Run with {@code mvn -Ploadtest test-compile exec:exec@loadtest}; see {@link LoadTestSettings} for the
+ * {@code -Dloadtest.*} knobs.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+        LoadTestSettings settings = LoadTestSettings.fromSystemProperties();
+
+        try (StubServer cashfree = StubServer.cashfree(settings.cashfreeLatency()).start();
+                StubServer ithink = StubServer.ithink(settings.ithinkLatency()).start();
+                StubServer sms = StubServer.sms(settings.smsLatency()).start();
+                ConfigurableApplicationContext context = boot(settings, cashfree, ithink, sms)) {
+
+            long seedStart = System.nanoTime();
+            new DataSeeder(context, settings).seed();
+            System.out.printf("Seeded %d products, %d users, %d orders x %d items in %.1fs%n",
+                    settings.products(), settings.users(), settings.orders(), settings.itemsPerOrder(),
+                    (System.nanoTime() - seedStart) / 1e9);
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            String base = "http://127.0.0.1:" + port;
+            HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+            List<LatencyRecorder.Result> results = new ArrayList<>();
+            for (Scenario scenario : scenarios(base, settings)) {
+                System.out.printf("Running %s (%d users, %ss)%n", scenario.name(), settings.concurrency(),
+                        settings.duration().toSeconds());
+                results.add(scenario.run(client, settings.concurrency(), settings.warmup(), settings.duration()));
+            }
+
+            System.out.println();
+            System.out.println(LatencyRecorder.Result.header());
+            results.forEach(r -> System.out.println(r.row()));
+            System.out.printf("%nUpstream calls: %s=%d %s=%d %s=%d%n",
+                    cashfree.name(), cashfree.calls(), ithink.name(), ithink.calls(), sms.name(), sms.calls());
+        }
+    }
+
+    private static ConfigurableApplicationContext boot(LoadTestSettings settings, StubServer cashfree,
+            StubServer ithink, StubServer sms) {
+        Map<String, Object> props = new HashMap<>();
+        props.put("server.port", "0");
+        props.put("spring.datasource.url", settings.jdbcUrl());
+        props.put("spring.datasource.username", settings.jdbcUser());
+        props.put("spring.datasource.password", settings.jdbcPassword());
+        props.put("spring.datasource.hikari.maximum-pool-size", String.valueOf(Math.max(10, settings.concurrency())));
+        props.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        if (settings.isPostgres()) {
+            props.put("spring.jpa.database-platform", "org.hibernate.dialect.PostgreSQLDialect");
+        } else {
+            props.put("spring.datasource.driverClassName", "org.h2.Driver");
+            props.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+        }
+        props.put("cashfree.api.url", cashfree.baseUrl());
+        props.put("cashfree.app.id", "loadtest");
+        props.put("cashfree.secret.key", "loadtest-secret");
+        props.put("logistic.api.base-url", ithink.baseUrl());
+        props.put("logistic.api.order-base-url", ithink.baseUrl());
+        props.put("ithink.serviceability.proxy-base-url", "");
+        props.put("sms.api.url", sms.baseUrl() + "/api.php");
+        props.put("spring.mail.host", "localhost");
+        props.put("app.upload.dir", "target/loadtest-uploads");
+        props.put("logging.level.root", "WARN");
+        props.put("logging.level.com.oli.oli", "WARN");
+
+        SpringApplication app = new SpringApplication(App.class);
+        // Harness settings must win over application.properties, so they are passed as command-line args.
+        String[] args = props.entrySet().stream()
+                .map(e -> "--" + e.getKey() + "=" + e.getValue())
+                .toArray(String[]::new);
+        return app.run(args);
+    }
+
+    private static List<Scenario> scenarios(String base, LoadTestSettings settings) {
+        int users = Math.max(1, settings.users());
+        int products = Math.max(1, settings.products());
+        List<Scenario> all = new ArrayList<>();
+
+        if (settings.runs("products")) {
+            all.add(new Scenario("GET /api/products", (r, n) -> Scenario.get(base + "/api/products")));
+            all.add(new Scenario("GET /api/products?q=", (r, n) -> Scenario.get(base + "/api/products?q="
+                    + encode(DataSeeder.SEARCH_TERMS[r.nextInt(DataSeeder.SEARCH_TERMS.length)]))));
+            all.add(new Scenario("GET /api/products/{id}",
+                    (r, n) -> Scenario.get(base + "/api/products/" + (1 + r.nextInt(products)))));
+            all.add(new Scenario("GET /api/products/filters",
+                    (r, n) -> Scenario.get(base + "/api/products/filters")));
+        }
+        if (settings.runs("search")) {
+            all.add(new Scenario("GET /api/search", (r, n) -> Scenario.get(base + "/api/search?q="
+                    + encode(DataSeeder.SEARCH_TERMS[r.nextInt(DataSeeder.SEARCH_TERMS.length)]))));
+        }
+        if (settings.runs("orders")) {
+            all.add(new Scenario("GET /api/orders?email=", (r, n) -> Scenario.get(base + "/api/orders?email="
+                    + encode(DataSeeder.customerEmail(r.nextInt(users))))));
+            all.add(new Scenario("GET /api/orders/{id}",
+                    (r, n) -> Scenario.get(base + "/api/orders/LT-" + r.nextInt(Math.max(1, settings.orders())))));
+            all.add(new Scenario("POST /api/orders (checkout)",
+                    (r, n) -> Scenario.postJson(base + "/api/orders", checkoutJson(r, users, products), "lt-" + n)));
+        }
+        if (settings.runs("payments")) {
+            all.add(new Scenario("POST /api/payments/cashfree/create-order",
+                    (r, n) -> Scenario.postJson(base + "/api/payments/cashfree/create-order",
+                            "{\"amount\":" + (199 + r.nextInt(2000)) + ",\"customerId\":\""
+                                    + DataSeeder.customerEmail(r.nextInt(users)) + "\",\"customerName\":\"Load Test\","
+                                    + "\"customerEmail\":\"" + DataSeeder.customerEmail(r.nextInt(users)) + "\","
+                                    + "\"customerPhone\":\"9000000000\",\"returnUrl\":\"http://localhost/return\"}",
+                            "lt-pay-" + n)));
+            all.add(new Scenario("GET /api/payments/cashfree/orders/{id}",
+                    (r, n) -> Scenario.get(base + "/api/payments/cashfree/orders/CF-LT-" + r.nextInt(64))));
+        }
+        if (settings.runs("otp")) {
+            all.add(new Scenario("POST /api/auth/send-otp",
+                    (r, n) -> Scenario.postJson(base + "/api/auth/send-otp",
+                            "{\"phone\":\"" + (9_000_000_000L + r.nextInt(users)) + "\"}", "lt-otp-" + n)));
+        }
+        if (settings.runs("admin")) {
+            all.add(new Scenario("GET /api/admin/orders", (r, n) -> Scenario.get(base + "/api/admin/orders")));
+            all.add(new Scenario("GET /api/admin/reports/overview",
+                    (r, n) -> Scenario.get(base + "/api/admin/reports/overview?months=12")));
+            all.add(new Scenario("GET /api/admin/reports/top-products",
+                    (r, n) -> Scenario.get(base + "/api/admin/reports/top-products?months=3&limit=10")));
+            all.add(new Scenario("GET /api/admin/reports/orders-breakdown",
+                    (r, n) -> Scenario.get(base + "/api/admin/reports/orders-breakdown?months=12")));
+        }
+        return all;
+    }
+
+    // Prepaid checkout to a serviceable pincode: exercises the iThink rate check and shipment creation.
+    private static String checkoutJson(SplittableRandom r, int users, int products) {
+        int customer = r.nextInt(users);
+        StringBuilder items = new StringBuilder();
+        int count = 1 + r.nextInt(3);
+        int subtotal = 0;
+        for (int i = 0; i < count; i++) {
+            int price = 199 + r.nextInt(800);
+            int qty = 1 + r.nextInt(2);
+            subtotal += price * qty;
+            if (i > 0) {
+                items.append(',');
+            }
+            items.append("{\"productId\":").append(1 + r.nextInt(products))
+                    .append(",\"productName\":\"Load test oil\",\"variant\":\"500ml\",\"quantity\":").append(qty)
+                    .append(",\"unitPrice\":").append(price).append('}');
+        }
+        return "{\"customerName\":\"Customer " + customer + "\","
+                + "\"customerEmail\":\"" + DataSeeder.customerEmail(customer) + "\","
+                + "\"customerPhone\":\"" + (9_000_000_000L + customer) + "\","
+                + "\"shippingAddress\":\"1 Load Test Road\",\"shippingCity\":\"Jaipur\",\"shippingState\":\"Rajasthan\","
+                + "\"shippingPincode\":\"302001\",\"subtotal\":" + subtotal + ",\"shipping\":60,\"total\":" + (subtotal + 60) + ","
+                + "\"paymentMethod\":\"online\",\"paymentStatus\":\"pending\",\"status\":\"pending\","
+                + "\"items\":[" + items + "]}";
+    }
+
+    private static String encode(String v) {
+        return java.net.URLEncoder.encode(v, java.nio.charset.StandardCharsets.UTF_8);
+    }
+}
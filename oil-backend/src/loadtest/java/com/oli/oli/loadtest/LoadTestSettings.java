@@ -0,0 +1,65 @@
+package com.oli.oli.loadtest;
+
+import java.time.Duration;
+
+/**
+ * Harness settings, read from {@code -Dloadtest.*} system properties so runs can be reproduced from the
+ * command line. {@code loadtest.scenarios} is {@code all} or a comma-separated subset of
+ * {@code products, search, orders, payments, otp, admin}; a {@code jdbc:postgresql:} URL runs against a
+ * local Postgres instead of H2 (the schema is recreated).
+ */
+record LoadTestSettings(
+        int products,
+        int users,
+        int orders,
+        int itemsPerOrder,
+        int concurrency,
+        Duration warmup,
+        Duration duration,
+        Duration cashfreeLatency,
+        Duration ithinkLatency,
+        Duration smsLatency,
+        String jdbcUrl,
+        String jdbcUser,
+        String jdbcPassword,
+        String scenarios) {
+
+    static LoadTestSettings fromSystemProperties() {
+        return new LoadTestSettings(
+                Integer.getInteger("loadtest.products", 2_000),
+                Integer.getInteger("loadtest.users", 5_000),
+                Integer.getInteger("loadtest.orders", 20_000),
+                Integer.getInteger("loadtest.items-per-order", 3),
+                Integer.getInteger("loadtest.concurrency", 16),
+                duration("loadtest.warmup", "PT5S"),
+                duration("loadtest.duration", "PT20S"),
+                duration("loadtest.latency.cashfree", "PT0.15S"),
+                duration("loadtest.latency.ithink", "PT0.25S"),
+                duration("loadtest.latency.sms", "PT0.1S"),
+                System.getProperty("loadtest.jdbc-url",
+                        "jdbc:h2:mem:loadtest;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE"),
+                System.getProperty("loadtest.jdbc-user", "sa"),
+                System.getProperty("loadtest.jdbc-password", ""),
+                System.getProperty("loadtest.scenarios", "all"));
+    }
+
+    boolean isPostgres() {
+        return jdbcUrl.startsWith("jdbc:postgresql:");
+    }
+
+    boolean runs(String scenario) {
+        if (scenarios.equalsIgnoreCase("all")) {
+            return true;
+        }
+        for (String s : scenarios.split(",")) {
+            if (s.trim().equalsIgnoreCase(scenario)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Duration duration(String key, String defaultValue) {
+        return Duration.parse(System.getProperty(key, defaultValue));
+    }
+}
@@ -0,0 +1,92 @@
+package com.oli.oli.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.BiFunction;
+
+/**
+ * A closed-loop workload: {@code concurrency} virtual users issue requests back to back for a fixed
+ * duration after an unrecorded warm-up.
+ */
+final class Scenario {
+
+    private final String name;
+    private final BiFunction<SplittableRandom, Long, HttpRequest> requests;
+
+    Scenario(String name, BiFunction<SplittableRandom, Long, HttpRequest> requests) {
+        this.name = name;
+        this.requests = requests;
+    }
+
+    String name() {
+        return name;
+    }
+
+    static HttpRequest get(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET().build();
+    }
+
+    static HttpRequest postJson(String url, String json, String idempotencyKey) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .header("Idempotency-Key", idempotencyKey)
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+
+    LatencyRecorder.Result run(HttpClient client, int concurrency, Duration warmup, Duration duration)
+            throws InterruptedException {
+        drive(client, concurrency, warmup, 1_000_000L);
+        long start = System.nanoTime();
+        List<LatencyRecorder> recorders = drive(client, concurrency, duration, 0L);
+        return LatencyRecorder.merge(name, recorders, System.nanoTime() - start);
+    }
+
+    private List<LatencyRecorder> drive(HttpClient client, int concurrency, Duration duration, long seedOffset)
+            throws InterruptedException {
+        List<LatencyRecorder> recorders = new ArrayList<>(concurrency);
+        ExecutorService pool = Executors.newFixedThreadPool(concurrency);
+        CountDownLatch done = new CountDownLatch(concurrency);
+        long deadline = System.nanoTime() + duration.toNanos();
+        for (int t = 0; t < concurrency; t++) {
+            LatencyRecorder recorder = new LatencyRecorder();
+            recorders.add(recorder);
+            long seed = seedOffset + t;
+            pool.execute(() -> {
+                SplittableRandom random = new SplittableRandom(seed);
+                long sequence = 0;
+                try {
+                    while (System.nanoTime() < deadline) {
+                        HttpRequest request = requests.apply(random, seed * 1_000_000_000L + sequence++);
+                        long begin = System.nanoTime();
+                        boolean ok;
+                        try {
+                            HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                            ok = response.statusCode() < 400;
+                        } catch (java.io.IOException ex) {
+                            ok = false;
+                        }
+                        recorder.record(System.nanoTime() - begin, ok);
+                    }
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        pool.shutdown();
+        return recorders;
+    }
+}
@@ -0,0 +1,124 @@
+package com.oli.oli.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Minimal local stand-in for an upstream API. Every response is delayed by a fixed latency so the
+ * harness sees realistic blocking time in the request threads that call out.
+ */
+final class StubServer implements AutoCloseable {
+
+    private final String name;
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Duration latency;
+    private final AtomicLong calls = new AtomicLong();
+
+    private StubServer(String name, Duration latency) throws IOException {
+        this.name = name;
+        this.latency = latency;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.executor = Executors.newCachedThreadPool();
+        this.server.setExecutor(executor);
+    }
+
+    /** Cashfree PG: order creation and order lookup. */
+    static StubServer cashfree(Duration latency) throws IOException {
+        StubServer stub = new StubServer("cashfree", latency);
+        stub.route("/orders", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            if (exchange.getRequestMethod().equals("POST")) {
+                long n = stub.calls.get();
+                return "{\"cf_order_id\":\"" + n + "\",\"order_id\":\"CF" + n + "\",\"order_status\":\"ACTIVE\","
+                        + "\"payment_session_id\":\"session_" + n + "\"}";
+            }
+            String orderId = path.substring(path.lastIndexOf('/') + 1);
+            return "{\"order_id\":\"" + orderId + "\",\"order_status\":\"ACTIVE\",\"order_amount\":100}";
+        });
+        return stub;
+    }
+
+    /** iThink Logistics: rate check and order (shipment) creation. */
+    static StubServer ithink(Duration latency) throws IOException {
+        StubServer stub = new StubServer("ithink", latency);
+        stub.route("/api_v3/rate/check.json", exchange -> "{\"status\":\"success\",\"data\":["
+                + "{\"logistic_name\":\"Delhivery\",\"rate\":\"62.50\"},"
+                + "{\"logistic_name\":\"Xpressbees\",\"rate\":\"55.00\"}]}");
+        stub.route("/api_v3/order/add.json", exchange -> {
+            long n = stub.calls.get();
+            return "{\"status\":\"success\",\"data\":{\"1\":{\"status\":\"success\",\"waybill\":\"WB" + n + "\","
+                    + "\"logistic_name\":\"Delhivery\",\"tracking_url\":\"https://track.example/WB" + n + "\"}}}";
+        });
+        return stub;
+    }
+
+    /** SMS gateway: plain-text acknowledgement. */
+    static StubServer sms(Duration latency) throws IOException {
+        StubServer stub = new StubServer("sms", latency);
+        stub.route("/api.php", exchange -> "OK");
+        return stub;
+    }
+
+    StubServer start() {
+        server.start();
+        return this;
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    String name() {
+        return name;
+    }
+
+    long calls() {
+        return calls.get();
+    }
+
+    private void route(String path, Function<HttpExchange, String> handler) {
+        server.createContext(path, exchange -> {
+            try (InputStream in = exchange.getRequestBody()) {
+                in.readAllBytes();
+            }
+            calls.incrementAndGet();
+            sleep(latency);
+            byte[] body = handler.apply(exchange).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type",
+                    body.length > 0 && body[0] == '{' ? "application/json" : "text/plain");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+    }
+
+    private static void sleep(Duration d) {
+        if (d.isZero() || d.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(d.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
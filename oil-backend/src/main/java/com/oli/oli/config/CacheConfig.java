@@ -0,0 +1,40 @@
+package com.oli.oli.config;
+
+import java.net.URI;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@Configuration
+public class CacheConfig {
+
+    // Caffeine only reads a classpath: URI from inside the packaged jar; hibernate.javax.cache.uri would be
+    // resolved to a jar: URL first, which Caffeine ignores in favour of its defaults.
+    private static final URI CACHE_CONFIG = URI.create("classpath:hibernate-cache.conf");
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer() {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(CACHE_CONFIG, CacheConfig.class.getClassLoader());
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+    }
+
+    // The cache manager is shared by everything in the JVM, so it can hold entries from an earlier
+    // EntityManagerFactory whose schema has since been recreated (tests use create-drop). Start every
+    // factory with empty regions.
+    @Bean
+    public SmartInitializingSingleton secondLevelCacheReset(EntityManagerFactory entityManagerFactory) {
+        return () -> entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+}
@@ -0,0 +1,105 @@
+package com.oli.oli.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Connection pools per workload class. OLTP traffic (storefront, checkout, jobs) uses the primary pool;
+ * analytics reads use the replica pool, or a separate analytics pool on the primary while the replica
+ * lags, so a slow report can only exhaust its own pool and never queues behind or ahead of order writes.
+ * Each pool sets its own statement timeout through its {@code connection-init-sql}, and its acquire times
+ * are published per pool as {@code hikaricp.connections.acquire}. Without
+ * {@code app.datasource.replica.url} the replica pool points at the primary database, so the routing works
+ * (and can be tested) with a single instance.
+ */
+@Configuration
+public class DataSourceConfig implements WebMvcConfigurer {
+
+    @Value("${app.datasource.replica.paths:/api/admin/reports/**,/api/admin/dashboard/**}")
+    private String[] replicaPaths;
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.replica.hikari")
+    public HikariDataSource replicaDataSource(DataSourceProperties properties,
+            @Value("${app.datasource.replica.url:}") String url,
+            @Value("${app.datasource.replica.username:}") String username,
+            @Value("${app.datasource.replica.password:}") String password) {
+        boolean samePrimary = url.isBlank();
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .driverClassName(properties.determineDriverClassName())
+                .url(samePrimary ? properties.determineUrl() : url)
+                .username(samePrimary || username.isBlank() ? properties.determineUsername() : username)
+                .password(samePrimary || password.isBlank() ? properties.determinePassword() : password)
+                .build();
+        dataSource.setPoolName("replica");
+        dataSource.setMaximumPoolSize(5);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("app.datasource.analytics.hikari")
+    public HikariDataSource analyticsDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("analytics");
+        dataSource.setMaximumPoolSize(3);
+        dataSource.setMinimumIdle(0);
+        dataSource.setReadOnly(true);
+        return dataSource;
+    }
+
+    // Migrations get a plain connection of their own, outside the pools and their statement timeouts.
+    @Bean
+    @FlywayDataSource
+    public DataSource migrationDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(SimpleDriverDataSource.class).build();
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaDataSource") DataSource replica,
+            @Value("${app.datasource.replica.max-lag:PT10S}") Duration maxLag, MeterRegistry meterRegistry) {
+        return new ReplicaLagMonitor(replica, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+            @Qualifier("replicaDataSource") DataSource replica, @Qualifier("analyticsDataSource") DataSource analytics,
+            ReplicaLagMonitor replicaLagMonitor) {
+        return new QueryCountingDataSource(new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(primary, replica, analytics, replicaLagMonitor::isAvailable)));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ReplicaRoutingInterceptor()).addPathPatterns(replicaPaths);
+    }
+}
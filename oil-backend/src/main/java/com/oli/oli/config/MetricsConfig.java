@@ -0,0 +1,30 @@
+package com.oli.oli.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Configuration
+public class MetricsConfig implements WebMvcConfigurer {
+
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.metrics.query-warn-threshold:25}")
+    private int queryWarnThreshold;
+
+    @Value("${app.metrics.query-budget.enforce:false}")
+    private boolean enforceQueryBudgets;
+
+    public MetricsConfig(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new QueryCountInterceptor(meterRegistry, queryWarnThreshold, enforceQueryBudgets))
+                .addPathPatterns("/api/**");
+    }
+}
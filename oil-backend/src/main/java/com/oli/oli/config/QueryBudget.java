@@ -0,0 +1,22 @@
+package com.oli.oli.config;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of SQL statements a handler may issue per request, independent of data volume. Every
+ * statement executed through the application's data source counts, Hibernate and {@code JdbcTemplate}
+ * alike; work handed to another thread counts only if wrapped with {@link QueryCounter#propagate}.
+ * Violations are logged at runtime and fail the request when {@code app.metrics.query-budget.enforce}
+ * is on (as it is in tests).
+ */
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.TYPE })
+public @interface QueryBudget {
+
+    int value();
+}
@@ -0,0 +1,8 @@
+package com.oli.oli.config;
+
+public class QueryBudgetExceededException extends RuntimeException {
+
+    public QueryBudgetExceededException(int budget) {
+        super("Query budget of " + budget + " SQL statements exceeded");
+    }
+}
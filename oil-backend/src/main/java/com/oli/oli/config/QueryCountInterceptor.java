@@ -0,0 +1,97 @@
+package com.oli.oli.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records how many SQL statements each handler issued, tagged like {@code http.server.requests}, and warns
+ * when a request goes over its {@link QueryBudget} (or the global threshold for unannotated handlers).
+ */
+public class QueryCountInterceptor implements AsyncHandlerInterceptor {
+
+    /** Request attribute holding the statement count once the request has completed. */
+    public static final String QUERY_COUNT_ATTRIBUTE = QueryCountInterceptor.class.getName() + ".count";
+
+    private static final String SUSPENDED_ATTRIBUTE = QueryCountInterceptor.class.getName() + ".suspended";
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCountInterceptor.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+    private final boolean enforceBudgets;
+
+    public QueryCountInterceptor(MeterRegistry meterRegistry, int warnThreshold, boolean enforceBudgets) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+        this.enforceBudgets = enforceBudgets;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC
+                && request.getAttribute(SUSPENDED_ATTRIBUTE) instanceof QueryCounter.State suspended) {
+            request.removeAttribute(SUSPENDED_ATTRIBUTE);
+            QueryCounter.resume(suspended);
+            return true;
+        }
+        QueryBudget budget = budgetOf(handler);
+        QueryCounter.start(enforceBudgets && budget != null ? budget.value() : QueryCounter.UNLIMITED);
+        return true;
+    }
+
+    // The async dispatch resumes the count, so the request's total includes statements propagated to the async
+    // thread (e.g. a streamed export); until it dispatches back the count covers the initial dispatch.
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response,
+            Object handler) {
+        request.setAttribute(QUERY_COUNT_ATTRIBUTE, QueryCounter.current());
+        request.setAttribute(SUSPENDED_ATTRIBUTE, QueryCounter.suspend());
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+            Exception ex) {
+        int queries = QueryCounter.stop();
+        request.setAttribute(QUERY_COUNT_ATTRIBUTE, queries);
+        String uri = uriOf(request);
+
+        DistributionSummary.builder("http.server.requests.queries")
+                .description("SQL statements issued while handling a request")
+                .baseUnit("statements")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(queries);
+
+        QueryBudget budget = budgetOf(handler);
+        int limit = budget != null ? budget.value() : warnThreshold;
+        if (queries > limit) {
+            log.warn("{} {} issued {} SQL statements ({} {})", request.getMethod(), uri, queries,
+                    budget != null ? "budget" : "threshold", limit);
+        }
+    }
+
+    static QueryBudget budgetOf(Object handler) {
+        if (!(handler instanceof HandlerMethod method)) {
+            return null;
+        }
+        QueryBudget budget = AnnotatedElementUtils.findMergedAnnotation(method.getMethod(), QueryBudget.class);
+        return budget != null ? budget : AnnotatedElementUtils.findMergedAnnotation(method.getBeanType(), QueryBudget.class);
+    }
+
+    static String uriOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? "UNKNOWN" : pattern.toString();
+    }
+}
@@ -0,0 +1,115 @@
+package com.oli.oli.config;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * Counts the SQL statements executed through the application's {@link javax.sql.DataSource} while a request
+ * is being handled, including those issued by {@code JdbcTemplate}. Work the request hands to another
+ * thread is counted against it when wrapped with {@link #propagate(Supplier)} or
+ * {@link #propagateBody(StreamingResponseBody)}. Statements issued outside a
+ * request (schedulers, startup) are not counted. When a budget is enforced, the statement that goes over
+ * it fails instead of being executed.
+ */
+public final class QueryCounter {
+
+    public static final int UNLIMITED = -1;
+
+    private static final ThreadLocal<State> STATE = new ThreadLocal<>();
+
+    static final class State {
+        private final int budget;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private State(int budget) {
+            this.budget = budget;
+        }
+    }
+
+    private QueryCounter() {
+    }
+
+    static void count() {
+        State state = STATE.get();
+        if (state != null) {
+            int count = state.count.incrementAndGet();
+            if (state.budget != UNLIMITED && count > state.budget) {
+                throw new QueryBudgetExceededException(state.budget);
+            }
+        }
+    }
+
+    public static void start() {
+        start(UNLIMITED);
+    }
+
+    public static void start(int enforcedBudget) {
+        STATE.set(new State(enforcedBudget));
+    }
+
+    public static int current() {
+        State state = STATE.get();
+        return state == null ? 0 : state.count.get();
+    }
+
+    public static int stop() {
+        int count = current();
+        STATE.remove();
+        return count;
+    }
+
+    // Detaches the count from this thread when a request goes async, so its async dispatch can resume it.
+    static State suspend() {
+        State state = STATE.get();
+        STATE.remove();
+        return state;
+    }
+
+    static void resume(State state) {
+        STATE.set(state);
+    }
+
+    /** Returns a task that counts its statements against the request of the thread calling this method. */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        State state = STATE.get();
+        if (state == null) {
+            return task;
+        }
+        return () -> {
+            State previous = STATE.get();
+            STATE.set(state);
+            try {
+                return task.get();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /** Returns a body that counts the statements it issues on the async response thread against the request. */
+    public static StreamingResponseBody propagateBody(StreamingResponseBody body) {
+        State state = STATE.get();
+        if (state == null) {
+            return body;
+        }
+        return out -> {
+            State previous = STATE.get();
+            STATE.set(state);
+            try {
+                body.writeTo(out);
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private static void restore(State previous) {
+        if (previous == null) {
+            STATE.remove();
+        } else {
+            STATE.set(previous);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.oli.oli.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Measures how far the replica trails the primary and takes it out of routing while the lag is above
+ * {@code app.datasource.replica.max-lag} or the replica cannot be reached. A replica that has replayed
+ * everything it received counts as zero lag, so an idle primary does not make it look stale.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private static final String LAG_SQL = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final JdbcTemplate replica;
+    private final Duration maxLag;
+    private volatile double lagSeconds;
+    private volatile boolean available = true;
+    private volatile Boolean postgres;
+
+    public ReplicaLagMonitor(DataSource replica, Duration maxLag, MeterRegistry meterRegistry) {
+        this.replica = new JdbcTemplate(replica);
+        this.maxLag = maxLag;
+        Gauge.builder("datasource.replica.lag", this, m -> m.lagSeconds).baseUnit("seconds").register(meterRegistry);
+        Gauge.builder("datasource.replica.available", this, m -> m.available ? 1 : 0).register(meterRegistry);
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.lag-check-interval:PT5S}")
+    public void check() {
+        boolean wasAvailable = available;
+        try {
+            lagSeconds = isPostgres() ? replica.queryForObject(LAG_SQL, Double.class) : 0;
+            available = lagSeconds * 1000 <= maxLag.toMillis();
+        } catch (DataAccessException ex) {
+            available = false;
+            if (wasAvailable) {
+                log.warn("Replica lag check failed, routing reads to the primary: {}", ex.getMessage());
+            }
+            return;
+        }
+        if (wasAvailable != available) {
+            log.warn("Replica lag is {}s (tolerance {}s); routing reporting reads to the {}", lagSeconds,
+                    maxLag.toSeconds(), available ? "replica" : "primary");
+        }
+    }
+
+    private boolean isPostgres() {
+        Boolean p = postgres;
+        if (p == null) {
+            String product = replica.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            p = "PostgreSQL".equalsIgnoreCase(product);
+            postgres = p;
+        }
+        return p;
+    }
+}
@@ -0,0 +1,48 @@
+package com.oli.oli.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Marks the current thread's work as the analytics workload. Read-only transactions started inside the
+ * scope are served by the replica while it is within its lag tolerance, and by the analytics pool on the
+ * primary otherwise; everything else, including Spring Data's default read-only repository transactions on other
+ * threads, stays on the primary so reads that follow a write see it.
+ */
+public final class ReplicaRouting {
+
+    private static final ThreadLocal<Boolean> REQUESTED = new ThreadLocal<>();
+
+    private ReplicaRouting() {
+    }
+
+    public static boolean isRequested() {
+        return Boolean.TRUE.equals(REQUESTED.get());
+    }
+
+    public static void enter() {
+        REQUESTED.set(Boolean.TRUE);
+    }
+
+    public static void exit() {
+        REQUESTED.remove();
+    }
+
+    public static <T> T call(Supplier<T> work) {
+        boolean outer = !isRequested();
+        enter();
+        try {
+            return work.get();
+        } finally {
+            if (outer) {
+                exit();
+            }
+        }
+    }
+
+    public static void run(Runnable work) {
+        call(() -> {
+            work.run();
+            return null;
+        });
+    }
+}
@@ -0,0 +1,39 @@
+package com.oli.oli.config;
+
+import java.util.Map;
+import java.util.function.BooleanSupplier;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Sends read-only transactions inside a {@link ReplicaRouting} scope to the replica pool (or to the
+ * analytics pool on the primary while the replica is unavailable), and everything else to the primary. Must sit behind a {@code LazyConnectionDataSourceProxy} so the choice is made at the
+ * first statement, after the transaction's read-only flag has been set.
+ */
+class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+    static final String ANALYTICS = "analytics";
+
+    private final BooleanSupplier replicaAvailable;
+
+    ReplicaRoutingDataSource(DataSource primary, DataSource replica, DataSource analytics,
+            BooleanSupplier replicaAvailable) {
+        this.replicaAvailable = replicaAvailable;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica, ANALYTICS, analytics));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (ReplicaRouting.isRequested() && TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return replicaAvailable.getAsBoolean() ? REPLICA : ANALYTICS;
+        }
+        return PRIMARY;
+    }
+}
@@ -1,5 +1,7 @@
 package com.oli.oli.controller;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.util.StringUtils;
@@ -21,6 +23,8 @@ import java.util.Optional;
 @RequestMapping("/api/auth")
 public class AuthController {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+
     public record RegisterRequest(
             String firstName,
             String lastName,
@@ -169,8 +173,7 @@ public class AuthController {
                 otpService.generateAndSendOtpForEmail(email);
             } catch (Exception e) {
                 // Log error but don't reveal to user (security)
-                System.err.println("Failed to send password reset email: " + e.getMessage());
-                e.printStackTrace();
+                log.error("Failed to send password reset email", e);
             }
         }
         
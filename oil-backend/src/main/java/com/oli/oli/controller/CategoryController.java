@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.oli.oli.config.QueryBudget;
 import com.oli.oli.dto.CategoryDto;
 import com.oli.oli.model.Category;
 import com.oli.oli.repository.CategoryRepository;
@@ -33,11 +34,13 @@ public class CategoryController {
         this.fileStorageService = fileStorageService;
     }
 
+    @QueryBudget(1)
     @GetMapping
     public List<CategoryDto> list() {
-        return categoryRepository.findAll().stream().map(CategoryController::toDto).toList();
+        return categoryRepository.findAllDtos();
     }
 
+    @QueryBudget(1)
     @GetMapping("/{id}")
     public CategoryDto get(@PathVariable Long id) {
         Category category = categoryRepository.findById(id)
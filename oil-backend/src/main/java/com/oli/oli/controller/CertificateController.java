@@ -13,6 +13,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.oli.oli.config.QueryBudget;
 import com.oli.oli.dto.CertificateDto;
 import com.oli.oli.model.Certificate;
 import com.oli.oli.repository.CertificateRepository;
@@ -30,9 +31,10 @@ public class CertificateController {
         this.fileStorageService = fileStorageService;
     }
 
+    @QueryBudget(1)
     @GetMapping
     public List<CertificateDto> list() {
-        return certificateRepository.findAll().stream().map(CertificateController::toDto).toList();
+        return certificateRepository.findAll().stream().map(CertificateDto::of).toList();
     }
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -58,16 +60,6 @@ public class CertificateController {
         cert.setFileUrl(fileStorageService.storeDocument(file, "certificates"));
 
         Certificate saved = certificateRepository.save(cert);
-        return toDto(saved);
-    }
-
-    private static CertificateDto toDto(Certificate c) {
-        return new CertificateDto(
-                c.getId(),
-                c.getType(),
-                c.getTitle(),
-                c.getFileUrl(),
-                c.getLastUpdated() != null ? c.getLastUpdated().toString() : null
-        );
+        return CertificateDto.of(saved);
     }
 }
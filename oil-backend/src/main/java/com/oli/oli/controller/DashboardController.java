@@ -5,34 +5,61 @@ import java.time.LocalDate;
 import java.time.Instant;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.oli.oli.config.QueryBudget;
+import com.oli.oli.dto.InventoryCountsDto;
+import com.oli.oli.dto.InventoryItemDto;
+import com.oli.oli.dto.InventoryPageResponse;
+import com.oli.oli.model.DailySales;
 import com.oli.oli.repository.ProductRepository;
 import com.oli.oli.repository.OrderRepository;
 import com.oli.oli.repository.UserRepository;
+import com.oli.oli.service.AdminEventHub;
+import com.oli.oli.service.DailySalesService;
+import com.oli.oli.service.RecentOrdersFeed;
 
 @RestController
 @RequestMapping("/api/admin/dashboard")
 public class DashboardController {
 
+    private static final int MAX_CHART_DAYS = 366;
+    private static final int MAX_REBUILD_DAYS = 3660;
+    private static final int MAX_INVENTORY_PAGE_SIZE = 500;
+
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
     private final OrderRepository orderRepository;
+    private final DailySalesService dailySalesService;
+    private final RecentOrdersFeed recentOrdersFeed;
+    private final AdminEventHub adminEventHub;
 
-    public DashboardController(ProductRepository productRepository, UserRepository userRepository, OrderRepository orderRepository) {
+    public DashboardController(ProductRepository productRepository, UserRepository userRepository, OrderRepository orderRepository,
+            DailySalesService dailySalesService, RecentOrdersFeed recentOrdersFeed, AdminEventHub adminEventHub) {
         this.productRepository = productRepository;
         this.userRepository = userRepository;
         this.orderRepository = orderRepository;
+        this.dailySalesService = dailySalesService;
+        this.recentOrdersFeed = recentOrdersFeed;
+        this.adminEventHub = adminEventHub;
     }
 
+    @QueryBudget(5)
     @GetMapping("/stats")
     public Map<String, Object> getStats() {
         Instant oneMonthAgo = Instant.now().minus(30, ChronoUnit.DAYS);
@@ -47,6 +74,8 @@ public class DashboardController {
                 .filter(user -> user.getCreatedAt() != null && user.getCreatedAt().isAfter(oneMonthAgo))
                 .count();
 
+        // Archived orders are closed and older than app.orders.archive.after-months, so neither the 30-day revenue
+        // nor the pending count needs orders_archive.
         List<com.oli.oli.model.OrderEntity> orders = orderRepository.findAll();
 
         BigDecimal revenue = orders.stream()
@@ -71,60 +100,75 @@ public class DashboardController {
         return stats;
     }
 
+    @QueryBudget(1)
     @GetMapping("/recent-orders")
-    public Map<String, Object> getRecentOrders() {
-        List<Map<String, Object>> orders = orderRepository.findAll().stream()
-                .filter(o -> o != null)
-                .sorted(Comparator.comparing(com.oli.oli.model.OrderEntity::getCreatedAt,
-                        Comparator.nullsLast(Comparator.naturalOrder())).reversed())
-                .limit(10)
-                .map(o -> {
-                    Map<String, Object> m = new HashMap<>();
-                    m.put("id", o.getId());
-                    m.put("createdAt", o.getCreatedAt());
-                    m.put("total", o.getTotal() == null ? BigDecimal.ZERO : o.getTotal());
-                    m.put("status", o.getStatus() == null ? "" : o.getStatus());
-                    m.put("customerName", o.getCustomerName());
-                    return m;
-                })
-                .collect(Collectors.toList());
+    public Map<String, Object> getRecentOrders(@RequestParam(value = "limit", defaultValue = "10") int limit) {
+        int l = Math.max(1, Math.min(limit, recentOrdersFeed.capacity()));
 
         Map<String, Object> response = new HashMap<>();
-        response.put("orders", orders);
+        response.put("orders", recentOrdersFeed.latest(l));
         return response;
     }
 
+    @QueryBudget(0)
+    @GetMapping(path = "/recent-orders/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRecentOrders() {
+        return adminEventHub.subscribe(Set.of(AdminEventHub.ORDER));
+    }
+
+    /** Pushes order, order-status, payment and stock events; {@code topics} narrows the set. */
+    @QueryBudget(0)
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(value = "topics", required = false) List<String> topics) {
+        if (topics == null || topics.isEmpty()) {
+            return adminEventHub.subscribe(AdminEventHub.ALL_TOPICS);
+        }
+        Set<String> selected = topics.stream()
+                .map(t -> t.trim().toLowerCase())
+                .filter(AdminEventHub.ALL_TOPICS::contains)
+                .collect(Collectors.toSet());
+        if (selected.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "topics must be any of " + AdminEventHub.ALL_TOPICS);
+        }
+        return adminEventHub.subscribe(selected);
+    }
+
+    @QueryBudget(1)
     @GetMapping("/sales-chart")
-    public Map<String, Object> getSalesChart() {
-        Instant start = Instant.now().minus(6, ChronoUnit.DAYS);
+    public Map<String, Object> getSalesChart(@RequestParam(value = "days", defaultValue = "7") int days) {
+        int d = Math.max(1, Math.min(days, MAX_CHART_DAYS));
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        LocalDate first = today.minusDays(d - 1L);
 
-        Map<LocalDate, BigDecimal> totalsByDay = orderRepository.findAll().stream()
-                .filter(o -> o != null && o.getCreatedAt() != null)
-                .filter(o -> !o.getCreatedAt().isBefore(start))
-                .filter(o -> isPaid(o.getPaymentStatus()))
-                .collect(Collectors.groupingBy(
-                        o -> LocalDate.ofInstant(o.getCreatedAt(), ZoneOffset.UTC),
-                        Collectors.mapping(
-                                o -> o.getTotal() == null ? BigDecimal.ZERO : o.getTotal(),
-                                Collectors.reducing(BigDecimal.ZERO, BigDecimal::add))));
+        Map<LocalDate, DailySales> byDay = dailySalesService.findRange(first, today).stream()
+                .collect(Collectors.toMap(DailySales::getDate, s -> s));
 
         Map<String, Object> chartData = new HashMap<>();
         java.util.List<Map<String, Object>> data = new java.util.ArrayList<>();
-        
-        for (int i = 6; i >= 0; i--) {
-            Instant date = Instant.now().minus(i, ChronoUnit.DAYS);
-            LocalDate day = LocalDate.ofInstant(date, ZoneOffset.UTC);
+
+        for (LocalDate day = first; !day.isAfter(today); day = day.plusDays(1)) {
+            DailySales row = byDay.get(day);
             Map<String, Object> dayData = new HashMap<>();
             dayData.put("date", day.toString());
-            BigDecimal sales = totalsByDay.getOrDefault(day, BigDecimal.ZERO);
-            dayData.put("sales", sales);
+            dayData.put("sales", row == null ? BigDecimal.ZERO : row.getPaidRevenue());
+            dayData.put("orders", row == null ? 0L : row.getPaidOrders());
             data.add(dayData);
         }
-        
+
+        chartData.put("days", d);
         chartData.put("data", data);
         return chartData;
     }
 
+    @PostMapping("/sales-chart/rebuild")
+    public Map<String, Object> rebuildSalesChart(@RequestParam(value = "days", defaultValue = "90") int days) {
+        int d = Math.max(1, Math.min(days, MAX_REBUILD_DAYS));
+        LocalDate today = LocalDate.now(ZoneOffset.UTC);
+        LocalDate first = today.minusDays(d - 1L);
+        int rebuilt = dailySalesService.rebuild(first, today);
+        return Map.of("from", first.toString(), "to", today.toString(), "days", rebuilt);
+    }
+
     private static boolean isPaid(String paymentStatus) {
         if (paymentStatus == null) {
             return false;
@@ -141,45 +185,35 @@ public class DashboardController {
         return v.isBlank() || v.equals("pending") || v.equals("pending fulfillment") || v.equals("pending_fulfillment");
     }
 
+    @QueryBudget(1)
     @GetMapping("/product-stats")
     public Map<String, Object> getProductStats() {
-        long totalProducts = productRepository.count();
-        long inStockProducts = productRepository.findAll().stream()
-                .filter(p -> p.isInStock())
-                .count();
-        long outOfStockProducts = totalProducts - inStockProducts;
+        InventoryCountsDto counts = productRepository.countInventory();
 
         Map<String, Object> stats = new HashMap<>();
-        stats.put("total", totalProducts);
-        stats.put("inStock", inStockProducts);
-        stats.put("outOfStock", outOfStockProducts);
-        
+        stats.put("total", counts.total());
+        stats.put("inStock", counts.total() - counts.outOfStock());
+        stats.put("outOfStock", counts.outOfStock());
         return stats;
     }
 
+    @QueryBudget(2)
     @GetMapping("/inventory")
-    public Map<String, Object> getInventory() {
-        List<Map<String, Object>> products = productRepository.findAll().stream()
-                .sorted(Comparator.comparing(com.oli.oli.model.Product::getName,
-                        Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)))
-                .map(p -> {
-                    Map<String, Object> m = new HashMap<>();
-                    m.put("id", p.getId());
-                    m.put("name", p.getName());
-                    m.put("inStock", p.isInStock());
-                    return m;
-                })
-                .collect(Collectors.toList());
-
-        long outOfStockCount = products.stream()
-                .filter(x -> x != null)
-                .filter(x -> Boolean.FALSE.equals(x.get("inStock")))
-                .count();
-
-        Map<String, Object> resp = new HashMap<>();
-        resp.put("outOfStockCount", outOfStockCount);
-        resp.put("products", products);
-        return resp;
+    public InventoryPageResponse getInventory(
+            @RequestParam(value = "page", defaultValue = "1") int page,
+            @RequestParam(value = "pageSize", defaultValue = "50") int pageSize,
+            @RequestParam(value = "outOfStock", defaultValue = "false") boolean outOfStockOnly) {
+        int p = Math.max(1, page);
+        int size = Math.max(1, Math.min(pageSize, MAX_INVENTORY_PAGE_SIZE));
+        PageRequest pageable = PageRequest.of(p - 1, size);
+
+        InventoryCountsDto counts = productRepository.countInventory();
+        List<InventoryItemDto> products = outOfStockOnly
+                ? productRepository.findOutOfStockPage(pageable)
+                : productRepository.findInventoryPage(pageable);
+
+        long total = outOfStockOnly ? counts.outOfStock() : counts.total();
+        int totalPages = (int) Math.ceil((double) total / size);
+        return new InventoryPageResponse(products, total, counts.outOfStock(), p, size, totalPages);
     }
 }
-
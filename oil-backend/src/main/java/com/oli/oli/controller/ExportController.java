@@ -0,0 +1,100 @@
+package com.oli.oli.controller;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.oli.oli.config.QueryBudget;
+import com.oli.oli.config.QueryCounter;
+import com.oli.oli.service.ExportFormat;
+import com.oli.oli.service.OrderExportService;
+
+/**
+ * Streaming exports for admins. {@code from} and {@code to} are inclusive UTC dates; both are optional.
+ * The single export query runs on the async response thread and is counted against the request's budget.
+ */
+@RestController
+@RequestMapping("/api/admin/exports")
+public class ExportController {
+
+    private final OrderExportService exportService;
+
+    public ExportController(OrderExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    @QueryBudget(1)
+    @GetMapping("/orders")
+    public ResponseEntity<StreamingResponseBody> orders(
+            @RequestParam(value = "format", required = false) String format,
+            @RequestParam(value = "from", required = false) LocalDate from,
+            @RequestParam(value = "to", required = false) LocalDate to) {
+        ExportFormat f = ExportFormat.parse(format);
+        Instant[] range = range(from, to);
+        return stream("orders", f, out -> exportService.exportOrders(f, range[0], range[1], out));
+    }
+
+    @QueryBudget(1)
+    @GetMapping("/order-items")
+    public ResponseEntity<StreamingResponseBody> orderItems(
+            @RequestParam(value = "format", required = false) String format,
+            @RequestParam(value = "from", required = false) LocalDate from,
+            @RequestParam(value = "to", required = false) LocalDate to) {
+        ExportFormat f = ExportFormat.parse(format);
+        Instant[] range = range(from, to);
+        return stream("order-items", f, out -> exportService.exportOrderItems(f, range[0], range[1], out));
+    }
+
+    @QueryBudget(1)
+    @GetMapping("/orders-breakdown")
+    public ResponseEntity<StreamingResponseBody> ordersBreakdown(
+            @RequestParam(value = "format", required = false) String format,
+            @RequestParam(value = "from", required = false) LocalDate from,
+            @RequestParam(value = "to", required = false) LocalDate to) {
+        ExportFormat f = ExportFormat.parse(format);
+        Instant[] range = range(from, to);
+        return stream("orders-breakdown", f, out -> exportService.exportOrdersBreakdown(f, range[0], range[1], out));
+    }
+
+    @QueryBudget(1)
+    @GetMapping("/top-products")
+    public ResponseEntity<StreamingResponseBody> topProducts(
+            @RequestParam(value = "format", required = false) String format,
+            @RequestParam(value = "from", required = false) LocalDate from,
+            @RequestParam(value = "to", required = false) LocalDate to) {
+        ExportFormat f = ExportFormat.parse(format);
+        Instant[] range = range(from, to);
+        return stream("top-products", f, out -> exportService.exportTopProducts(f, range[0], range[1], out));
+    }
+
+    private static ResponseEntity<StreamingResponseBody> stream(String name, ExportFormat format,
+            StreamingResponseBody body) {
+        String filename = name + "-" + LocalDate.now(ZoneOffset.UTC) + "." + format.getExtension();
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .header(HttpHeaders.CACHE_CONTROL, "no-store")
+                .body(QueryCounter.propagateBody(body));
+    }
+
+    private static Instant[] range(LocalDate from, LocalDate to) {
+        Instant start = from == null ? Instant.EPOCH : from.atStartOfDay().toInstant(ZoneOffset.UTC);
+        LocalDate last = to == null ? LocalDate.now(ZoneOffset.UTC) : to;
+        Instant end = last.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC);
+        if (!start.isBefore(end)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must not be after to");
+        }
+        return new Instant[] { start, end };
+    }
+}
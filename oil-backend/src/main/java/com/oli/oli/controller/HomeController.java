@@ -0,0 +1,30 @@
+package com.oli.oli.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.oli.oli.config.QueryBudget;
+import com.oli.oli.service.HomeService;
+
+@RestController
+@RequestMapping("/api/home")
+public class HomeController {
+
+    private final HomeService homeService;
+
+    public HomeController(HomeService homeService) {
+        this.homeService = homeService;
+    }
+
+    // A cache miss loads the six homepage sections with at most one query each; a hit issues none.
+    // The ETag lets a repeat visit revalidate with a 304.
+    @QueryBudget(6)
+    @GetMapping
+    public ResponseEntity<byte[]> get() {
+        HomeService.Payload home = homeService.get();
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).eTag(home.etag()).body(home.body());
+    }
+}
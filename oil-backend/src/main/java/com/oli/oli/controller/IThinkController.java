@@ -23,6 +23,7 @@ import org.springframework.web.client.RestTemplate;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import com.oli.oli.config.QueryBudget;
 import com.oli.oli.model.OrderEntity;
 import com.oli.oli.model.OrderItemEntity;
 
@@ -309,6 +310,7 @@ public class IThinkController {
         }
     }
 
+    @QueryBudget(0)
     @GetMapping("/serviceability")
     public ResponseEntity<?> serviceability(
             @RequestParam MultiValueMap<String, String> allParams,
@@ -352,7 +354,7 @@ public class IThinkController {
         return baseUrl;
     }
 
-    private static BigDecimal extractMinRate(Object dataObj) {
+    static BigDecimal extractMinRate(Object dataObj) {
         if (!(dataObj instanceof List<?> list)) {
             return null;
         }
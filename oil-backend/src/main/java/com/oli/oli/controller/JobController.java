@@ -0,0 +1,52 @@
+package com.oli.oli.controller;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.oli.oli.config.QueryBudget;
+import com.oli.oli.dto.JobRunDto;
+import com.oli.oli.dto.JobStatusDto;
+import com.oli.oli.repository.JobRunRepository;
+
+@RestController
+@RequestMapping("/api/admin/jobs")
+public class JobController {
+
+    private static final int MAX_RUNS = 200;
+
+    private final JobRunRepository jobRunRepository;
+
+    public JobController(JobRunRepository jobRunRepository) {
+        this.jobRunRepository = jobRunRepository;
+    }
+
+    @QueryBudget(2)
+    @GetMapping
+    public List<JobStatusDto> list() {
+        Map<String, Instant> lastSucceeded = new HashMap<>();
+        for (Object[] row : jobRunRepository.findLastSucceededPerJob()) {
+            lastSucceeded.put((String) row[0], (Instant) row[1]);
+        }
+        return jobRunRepository.findLatestPerJob().stream()
+                .map(run -> new JobStatusDto(run.getJobName(), JobRunDto.of(run), lastSucceeded.get(run.getJobName())))
+                .toList();
+    }
+
+    @QueryBudget(1)
+    @GetMapping("/{job}/runs")
+    public List<JobRunDto> runs(@PathVariable String job, @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        int l = Math.max(1, Math.min(limit, MAX_RUNS));
+        return jobRunRepository.findByJobNameOrderByStartedAtDesc(job, PageRequest.of(0, l)).stream()
+                .map(JobRunDto::of)
+                .toList();
+    }
+}
@@ -2,11 +2,14 @@ package com.oli.oli.controller;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.UUID;
+import java.util.Map;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
@@ -15,30 +18,54 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.oli.oli.config.QueryBudget;
+import com.oli.oli.dto.OrderSnapshotDto;
 import com.oli.oli.model.OrderEntity;
+import com.oli.oli.model.OrderEventType;
 import com.oli.oli.model.OrderItemEntity;
 import com.oli.oli.repository.OrderItemRepository;
 import com.oli.oli.repository.OrderRepository;
+import com.oli.oli.service.IdGenerator;
+import com.oli.oli.service.IdempotencyService;
+import com.oli.oli.service.OrderArchiveService;
+import com.oli.oli.service.OrderEventPublisher;
+import com.oli.oli.service.StockService;
 
 @RestController
 public class OrderController {
 
     private static final Logger log = LoggerFactory.getLogger(OrderController.class);
 
+    // Caps a page so its items are loaded with a single IN query.
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final IThinkController iThinkController;
+    private final IdempotencyService idempotencyService;
+    private final OrderEventPublisher orderEventPublisher;
+    private final StockService stockService;
+    private final IdGenerator idGenerator;
+    private final OrderArchiveService orderArchiveService;
 
     public OrderController(OrderRepository orderRepository, OrderItemRepository orderItemRepository,
-            IThinkController iThinkController) {
+            IThinkController iThinkController, IdempotencyService idempotencyService,
+            OrderEventPublisher orderEventPublisher, StockService stockService, IdGenerator idGenerator,
+            OrderArchiveService orderArchiveService) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
         this.iThinkController = iThinkController;
+        this.idempotencyService = idempotencyService;
+        this.orderEventPublisher = orderEventPublisher;
+        this.stockService = stockService;
+        this.idGenerator = idGenerator;
+        this.orderArchiveService = orderArchiveService;
     }
 
     public record OrderItemDto(Long productId, String productName, String variant, Integer quantity, BigDecimal unitPrice) {
@@ -88,8 +115,9 @@ public class OrderController {
 
     @PostMapping("/api/orders")
     @ResponseStatus(HttpStatus.CREATED)
-    @Transactional
-    public OrderResponse create(@RequestBody CreateOrderRequest req) {
+    public OrderResponse create(
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @RequestBody CreateOrderRequest req) {
         if (req == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Request body is required");
         }
@@ -103,8 +131,14 @@ public class OrderController {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "total is required");
         }
 
-        String id = StringUtils.hasText(req.id()) ? req.id().trim()
-                : ("ORD-" + UUID.randomUUID().toString().replace("-", "").substring(0, 10).toUpperCase());
+        // A retried request replays the stored response instead of creating a second order and shipment.
+        String key = StringUtils.hasText(idempotencyKey) ? idempotencyKey.trim()
+                : (StringUtils.hasText(req.id()) ? req.id().trim() : null);
+        return idempotencyService.execute("orders", key, req, OrderResponse.class, () -> createOrder(req));
+    }
+
+    private OrderResponse createOrder(CreateOrderRequest req) {
+        String id = StringUtils.hasText(req.id()) ? req.id().trim() : idGenerator.nextOrderId();
 
         OrderEntity o = new OrderEntity();
         o.setId(id);
@@ -129,6 +163,7 @@ public class OrderController {
 
         OrderEntity saved = orderRepository.save(o);
 
+        List<OrderItemEntity> itemEntities = new ArrayList<>();
         if (req.items() != null) {
             for (OrderItemDto it : req.items()) {
                 if (it == null) continue;
@@ -140,15 +175,19 @@ public class OrderController {
                 e.setVariant(it.variant());
                 e.setQuantity(it.quantity());
                 e.setUnitPrice(it.unitPrice());
-                orderItemRepository.save(e);
+                itemEntities.add(e);
             }
+            orderItemRepository.saveAll(itemEntities);
         }
 
+        // Reserved before the shipment is booked, so a buyer who loses the last unit gets a 409 without leaving an
+        // orphan shipment behind; a failed booking rolls the reservation back with the order.
+        stockService.reserve(saved.getId(), itemEntities);
+
         if (StringUtils.hasText(saved.getDeliveryProvider())
                 && saved.getDeliveryProvider().trim().equalsIgnoreCase("IThink")
                 && !StringUtils.hasText(saved.getTrackingId())) {
             try {
-                List<OrderItemEntity> itemEntities = orderItemRepository.findByOrder_Id(saved.getId());
                 var created = iThinkController.createOrder(saved, itemEntities);
                 if (created == null || !created.success()) {
                     String msg = (created != null && StringUtils.hasText(created.message()))
@@ -179,7 +218,9 @@ public class OrderController {
             }
         }
 
-        List<OrderItemDto> items = orderItemRepository.findByOrder_Id(saved.getId()).stream()
+        orderEventPublisher.orderCreated(saved);
+
+        List<OrderItemDto> items = itemEntities.stream()
                 .map(x -> new OrderItemDto(x.getProductId(), x.getProductName(), x.getVariant(), x.getQuantity(), x.getUnitPrice()))
                 .toList();
 
@@ -211,28 +252,45 @@ public class OrderController {
         }
     }
 
+    @QueryBudget(4)
     @GetMapping("/api/orders")
-    public List<OrderResponse> list(@RequestParam(value = "email", required = false) String email) {
+    public List<OrderResponse> list(@RequestParam(value = "email", required = false) String email,
+            @RequestParam(value = "page", defaultValue = "1") int page,
+            @RequestParam(value = "pageSize", defaultValue = "100") int pageSize) {
+        PageRequest pageable = pageOf(page, pageSize);
         if (StringUtils.hasText(email)) {
-            return orderRepository.findByCustomerEmailIgnoreCaseOrderByCreatedAtDesc(email.trim()).stream()
-                    .map(o -> toResponse(o, orderItemRepository.findByOrder_Id(o.getId()).stream()
-                            .map(x -> new OrderItemDto(x.getProductId(), x.getProductName(), x.getVariant(), x.getQuantity(), x.getUnitPrice()))
-                            .toList()))
-                    .toList();
+            return customerOrders(email.trim(), pageable);
         }
+        return withItems(orderRepository.findByOrderByCreatedAtDesc(pageable));
+    }
 
-        return orderRepository.findAll().stream()
-                .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-                .map(o -> toResponse(o, orderItemRepository.findByOrder_Id(o.getId()).stream()
-                        .map(x -> new OrderItemDto(x.getProductId(), x.getProductName(), x.getVariant(), x.getQuantity(), x.getUnitPrice()))
-                        .toList()))
-                .toList();
+    // Archived orders are closed and older than app.orders.archive.after-months, so they follow the live ones.
+    private List<OrderResponse> customerOrders(String email, PageRequest pageable) {
+        List<OrderResponse> live = withItems(orderRepository.findByCustomerEmailIgnoreCaseOrderByCreatedAtDesc(email, pageable));
+        if (live.size() == pageable.getPageSize()) {
+            return live;
+        }
+        long liveCount = live.isEmpty() ? orderRepository.countByCustomerEmailIgnoreCase(email)
+                : pageable.getOffset() + live.size();
+        long skip = pageable.getOffset() + live.size() - liveCount;
+        int limit = (int) Math.min(Integer.MAX_VALUE, skip + pageable.getPageSize() - live.size());
+        List<OrderResponse> page = new ArrayList<>(live);
+        orderArchiveService.findByCustomer(email, PageRequest.of(0, limit)).stream()
+                .skip(skip)
+                .map(OrderController::toResponse)
+                .forEach(page::add);
+        return page;
     }
 
+    @QueryBudget(2)
     @GetMapping("/api/orders/{id}")
     public OrderResponse get(@PathVariable String id) {
-        OrderEntity o = orderRepository.findById(id)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
+        OrderEntity o = orderRepository.findById(id).orElse(null);
+        if (o == null) {
+            return orderArchiveService.find(id)
+                    .map(OrderController::toResponse)
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
+        }
         List<OrderItemDto> items = orderItemRepository.findByOrder_Id(o.getId()).stream()
                 .map(x -> new OrderItemDto(x.getProductId(), x.getProductName(), x.getVariant(), x.getQuantity(), x.getUnitPrice()))
                 .toList();
@@ -244,10 +302,15 @@ public class OrderController {
     }
 
     @PatchMapping("/api/admin/orders/{id}")
+    @Transactional
     public OrderResponse updateStatus(@PathVariable String id, @RequestBody UpdateStatusRequest req) {
         OrderEntity o = orderRepository.findById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Order not found"));
 
+        String previousStatus = o.getStatus();
+        String previousPaymentStatus = o.getPaymentStatus();
+        String previousTracking = trackingOf(o);
+
         if (req != null) {
             if (StringUtils.hasText(req.status())) {
                 o.setStatus(req.status().trim());
@@ -293,22 +356,49 @@ public class OrderController {
         }
 
         OrderEntity saved = orderRepository.save(o);
+
+        orderEventPublisher.changed(saved, OrderEventType.STATUS_CHANGED, previousStatus, saved.getStatus());
+        orderEventPublisher.changed(saved, OrderEventType.PAYMENT_STATUS_CHANGED, previousPaymentStatus,
+                saved.getPaymentStatus());
+        orderEventPublisher.changed(saved, OrderEventType.TRACKING_UPDATED, previousTracking, trackingOf(saved));
+
         List<OrderItemDto> items = orderItemRepository.findByOrder_Id(saved.getId()).stream()
                 .map(x -> new OrderItemDto(x.getProductId(), x.getProductName(), x.getVariant(), x.getQuantity(), x.getUnitPrice()))
                 .toList();
         return toResponse(saved, items);
     }
 
+    @QueryBudget(2)
     @GetMapping("/api/admin/orders")
-    public List<OrderResponse> adminList() {
-        return orderRepository.findAll().stream()
-                .sorted((a, b) -> b.getCreatedAt().compareTo(a.getCreatedAt()))
-                .map(o -> toResponse(o, orderItemRepository.findByOrder_Id(o.getId()).stream()
-                        .map(x -> new OrderItemDto(x.getProductId(), x.getProductName(), x.getVariant(), x.getQuantity(), x.getUnitPrice()))
-                        .toList()))
+    public List<OrderResponse> adminList(@RequestParam(value = "page", defaultValue = "1") int page,
+            @RequestParam(value = "pageSize", defaultValue = "100") int pageSize) {
+        return withItems(orderRepository.findByOrderByCreatedAtDesc(pageOf(page, pageSize)));
+    }
+
+    private static PageRequest pageOf(int page, int pageSize) {
+        return PageRequest.of(Math.max(1, page) - 1, Math.max(1, Math.min(pageSize, MAX_PAGE_SIZE)));
+    }
+
+    // Loads the items for a page of orders with one IN query instead of one query per order.
+    private List<OrderResponse> withItems(List<OrderEntity> orders) {
+        if (orders.isEmpty()) {
+            return List.of();
+        }
+        Map<String, List<OrderItemDto>> itemsByOrder = new HashMap<>();
+        List<String> ids = orders.stream().map(OrderEntity::getId).toList();
+        for (OrderItemEntity x : orderItemRepository.findByOrder_IdIn(ids)) {
+            itemsByOrder.computeIfAbsent(x.getOrder().getId(), k -> new ArrayList<>())
+                    .add(new OrderItemDto(x.getProductId(), x.getProductName(), x.getVariant(), x.getQuantity(), x.getUnitPrice()));
+        }
+        return orders.stream()
+                .map(o -> toResponse(o, itemsByOrder.getOrDefault(o.getId(), List.of())))
                 .toList();
     }
 
+    private static String trackingOf(OrderEntity o) {
+        return StringUtils.hasText(o.getTrackingId()) ? o.getTrackingId() : o.getTrackingUrl();
+    }
+
     private static OrderResponse toResponse(OrderEntity o, List<OrderItemDto> items) {
         return new OrderResponse(
                 o.getId(),
@@ -332,4 +422,30 @@ public class OrderController {
                 o.getStatus(),
                 items);
     }
+
+    private static OrderResponse toResponse(OrderSnapshotDto s) {
+        return new OrderResponse(
+                s.id(),
+                s.createdAt(),
+                s.customerName(),
+                s.customerEmail(),
+                s.customerPhone(),
+                s.shippingAddress(),
+                s.shippingCity(),
+                s.shippingState(),
+                s.shippingPincode(),
+                s.subtotal(),
+                s.shipping(),
+                s.total(),
+                s.paymentMethod(),
+                s.paymentStatus(),
+                s.cashfreeOrderId(),
+                s.deliveryProvider(),
+                s.trackingId(),
+                s.trackingUrl(),
+                s.status(),
+                s.items().stream()
+                        .map(x -> new OrderItemDto(x.productId(), x.productName(), x.variant(), x.quantity(), x.unitPrice()))
+                        .toList());
+    }
 }
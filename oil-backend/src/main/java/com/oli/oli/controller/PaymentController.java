@@ -2,17 +2,12 @@ package com.oli.oli.controller;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.Instant;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.HttpEntity;
-import org.springframework.http.HttpHeaders;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -22,7 +17,11 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.client.HttpStatusCodeException;
 import org.springframework.web.client.RestClientException;
-import org.springframework.web.client.RestTemplate;
+
+import com.oli.oli.config.QueryBudget;
+import com.oli.oli.service.CashfreeClient;
+import com.oli.oli.service.CashfreeOrderStatusCache;
+import com.oli.oli.service.IdGenerator;
 
 @RestController
 @RequestMapping("/api/payments/cashfree")
@@ -30,22 +29,15 @@ public class PaymentController {
 
     private static final Logger log = LoggerFactory.getLogger(PaymentController.class);
 
-    private final RestTemplate restTemplate;
-
-    @Value("${cashfree.api.url:${CASHFREE_BASE_URL:sandbox}}")
-    private String cashfreeBase;
-
-    @Value("${cashfree.app.id:${CASHFREE_APP_ID:}}")
-    private String clientId;
-
-    @Value("${cashfree.secret.key:${CASHFREE_SECRET_KEY:}}")
-    private String clientSecret;
-
-    @Value("${cashfree.api.version:2023-08-01}")
-    private String apiVersion;
+    private final CashfreeClient cashfreeClient;
+    private final CashfreeOrderStatusCache orderStatusCache;
+    private final IdGenerator idGenerator;
 
-    public PaymentController(RestTemplate restTemplate) {
-        this.restTemplate = restTemplate;
+    public PaymentController(CashfreeClient cashfreeClient, CashfreeOrderStatusCache orderStatusCache,
+            IdGenerator idGenerator) {
+        this.cashfreeClient = cashfreeClient;
+        this.orderStatusCache = orderStatusCache;
+        this.idGenerator = idGenerator;
     }
 
     public record CreateOrderRequest(
@@ -73,10 +65,10 @@ public class PaymentController {
 
         BigDecimal amount = req.amount().setScale(2, RoundingMode.HALF_UP);
 
-        if (clientId == null || clientId.isBlank()) {
+        if (cashfreeClient.getClientId() == null || cashfreeClient.getClientId().isBlank()) {
             throw new IllegalStateException("Cashfree client id is not configured");
         }
-        if (clientSecret == null || clientSecret.isBlank()) {
+        if (cashfreeClient.getClientSecret() == null || cashfreeClient.getClientSecret().isBlank()) {
             throw new IllegalStateException("Cashfree client secret is not configured");
         }
 
@@ -84,11 +76,17 @@ public class PaymentController {
 
         String customerId = safeCustomerId(req.customerId());
 
-        String orderId = "ORD_" + Instant.now().toEpochMilli() + "_" + UUID.randomUUID().toString().replace("-", "").substring(0, 8);
+        String orderId = idGenerator.nextPaymentReference();
 
         log.info("Cashfree createOrder request orderId={} amount={} currency={} customerId={}",
                 orderId, amount, currency, customerId);
 
+        Map<String, Object> orderMeta = new HashMap<>();
+        orderMeta.put("return_url", nullToEmpty(req.returnUrl()));
+        if (cashfreeClient.getWebhookUrl() != null && !cashfreeClient.getWebhookUrl().isBlank()) {
+            orderMeta.put("notify_url", cashfreeClient.getWebhookUrl().trim());
+        }
+
         Map<String, Object> payload = Map.of(
                 "order_id", orderId,
                 "order_amount", amount,
@@ -98,20 +96,11 @@ public class PaymentController {
                         "customer_name", nullToEmpty(req.customerName()),
                         "customer_email", nullToEmpty(req.customerEmail()),
                         "customer_phone", nullToEmpty(req.customerPhone())),
-                "order_meta", Map.of(
-                        "return_url", nullToEmpty(req.returnUrl())),
+                "order_meta", orderMeta,
                 "order_note", nullToEmpty(req.orderNote()));
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-        headers.set("x-client-id", clientId);
-        headers.set("x-client-secret", clientSecret);
-        headers.set("x-api-version", apiVersion);
-
-        String url = normalizeBaseUrl(cashfreeBase) + "/orders";
-
         try {
-            ResponseEntity<Map> resp = restTemplate.postForEntity(url, new HttpEntity<>(payload, headers), Map.class);
+            ResponseEntity<Map> resp = cashfreeClient.createOrder(payload);
             Map body = resp.getBody();
             if (body == null) {
                 return ResponseEntity.status(502).body(new CreateOrderResponse(null, null, null));
@@ -134,45 +123,22 @@ public class PaymentController {
         }
     }
 
+    @QueryBudget(0)
     @GetMapping("/orders/{orderId}")
     public ResponseEntity<Object> getOrder(@PathVariable String orderId) {
         if (orderId == null || orderId.isBlank()) {
             throw new IllegalArgumentException("Invalid orderId");
         }
 
-        HttpHeaders headers = new HttpHeaders();
-        headers.set("x-client-id", clientId);
-        headers.set("x-client-secret", clientSecret);
-        headers.set("x-api-version", apiVersion);
-
-        String url = normalizeBaseUrl(cashfreeBase) + "/orders/" + orderId;
-
         try {
-            ResponseEntity<Map> resp = restTemplate.exchange(url, HttpMethod.GET, new HttpEntity<>(headers), Map.class);
-            return ResponseEntity.status(resp.getStatusCode()).body(resp.getBody());
+            CashfreeOrderStatusCache.CachedOrder order = orderStatusCache.get(orderId.trim());
+            return ResponseEntity.status(order.status()).body(order.body());
         } catch (RestClientException ex) {
             return ResponseEntity.status(502).body(Map.of("error", "Failed to fetch Cashfree order", "message", ex.getMessage()));
         }
     }
 
-    private static String normalizeBaseUrl(String baseUrl) {
-        if (baseUrl == null || baseUrl.isBlank()) {
-            return "https://sandbox.cashfree.com/pg";
-        }
-        String v = baseUrl.trim();
-        if (v.equalsIgnoreCase("sandbox")) {
-            return "https://sandbox.cashfree.com/pg";
-        }
-        if (v.equalsIgnoreCase("production") || v.equalsIgnoreCase("prod")) {
-            return "https://api.cashfree.com/pg";
-        }
-        if (v.endsWith("/")) {
-            return v.substring(0, v.length() - 1);
-        }
-        return v;
-    }
-
-    private static String safeCustomerId(String raw) {
+    static String safeCustomerId(String raw) {
         String v = raw == null ? "" : raw.trim();
         if (!v.isBlank()) {
             v = v.replaceAll("[^A-Za-z0-9_-]", "_");
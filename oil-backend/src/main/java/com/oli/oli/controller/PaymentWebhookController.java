@@ -0,0 +1,97 @@
+package com.oli.oli.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oli.oli.model.PaymentWebhookEvent;
+import com.oli.oli.repository.PaymentWebhookEventRepository;
+import com.oli.oli.service.CashfreeClient;
+
+@RestController
+@RequestMapping("/api/payments")
+public class PaymentWebhookController {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentWebhookController.class);
+
+    private final CashfreeClient cashfreeClient;
+    private final PaymentWebhookEventRepository webhookEventRepository;
+    private final ObjectMapper objectMapper;
+
+    public PaymentWebhookController(CashfreeClient cashfreeClient,
+            PaymentWebhookEventRepository webhookEventRepository, ObjectMapper objectMapper) {
+        this.cashfreeClient = cashfreeClient;
+        this.webhookEventRepository = webhookEventRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    // Verifies and stores the event only; PaymentWebhookProcessor applies it to the order asynchronously.
+    @PostMapping("/webhook")
+    public ResponseEntity<Map<String, String>> webhook(
+            @RequestHeader(value = "x-webhook-timestamp", required = false) String timestamp,
+            @RequestHeader(value = "x-webhook-signature", required = false) String signature,
+            @RequestBody String rawBody) {
+        if (!cashfreeClient.verifyWebhookSignature(timestamp, rawBody, signature)) {
+            log.warn("Rejected Cashfree webhook with invalid signature");
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("status", "invalid signature"));
+        }
+
+        JsonNode root;
+        try {
+            root = objectMapper.readTree(rawBody);
+        } catch (JsonProcessingException ex) {
+            return ResponseEntity.badRequest().body(Map.of("status", "invalid payload"));
+        }
+
+        String eventKey = sha256(rawBody);
+        if (webhookEventRepository.existsByEventKey(eventKey)) {
+            return ResponseEntity.ok(Map.of("status", "duplicate"));
+        }
+
+        PaymentWebhookEvent event = new PaymentWebhookEvent();
+        event.setEventKey(eventKey);
+        event.setEventType(text(root.path("type")));
+        event.setCashfreeOrderId(text(root.path("data").path("order").path("order_id")));
+        event.setPaymentStatus(text(root.path("data").path("payment").path("payment_status")));
+        event.setPayload(rawBody);
+
+        try {
+            webhookEventRepository.save(event);
+        } catch (DataIntegrityViolationException ex) {
+            return ResponseEntity.ok(Map.of("status", "duplicate"));
+        }
+
+        log.info("Queued Cashfree webhook type={} orderId={} paymentStatus={}",
+                event.getEventType(), event.getCashfreeOrderId(), event.getPaymentStatus());
+        return ResponseEntity.ok(Map.of("status", "accepted"));
+    }
+
+    private static String text(JsonNode node) {
+        return node.isMissingNode() || node.isNull() ? null : node.asText();
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.oli.oli.controller;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
@@ -17,6 +18,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.oli.oli.config.QueryBudget;
 import com.oli.oli.dto.FilterOptionsDto;
 import com.oli.oli.dto.ProductDto;
 import com.oli.oli.model.Category;
@@ -25,6 +27,7 @@ import com.oli.oli.model.SubCategory;
 import com.oli.oli.repository.CategoryRepository;
 import com.oli.oli.repository.ProductRepository;
 import com.oli.oli.repository.SubCategoryRepository;
+import com.oli.oli.service.AdminEventHub;
 import com.oli.oli.service.FileStorageService;
 
 import java.util.ArrayList;
@@ -39,19 +42,23 @@ public class ProductController {
     private final CategoryRepository categoryRepository;
     private final SubCategoryRepository subCategoryRepository;
     private final FileStorageService fileStorageService;
+    private final AdminEventHub adminEventHub;
 
     public ProductController(
             ProductRepository productRepository,
             CategoryRepository categoryRepository,
             SubCategoryRepository subCategoryRepository,
-            FileStorageService fileStorageService
+            FileStorageService fileStorageService,
+            AdminEventHub adminEventHub
     ) {
         this.productRepository = productRepository;
         this.categoryRepository = categoryRepository;
         this.subCategoryRepository = subCategoryRepository;
         this.fileStorageService = fileStorageService;
+        this.adminEventHub = adminEventHub;
     }
 
+    @QueryBudget(1)
     @GetMapping
     public List<ProductDto> list(
             @RequestParam(value = "q", required = false) String q,
@@ -62,28 +69,14 @@ public class ProductController {
             @RequestParam(value = "inStock", required = false) Boolean inStock,
             @RequestParam(value = "featured", required = false) Boolean featured
     ) {
-        return productRepository.findByFilters(q, categoryId, subCategoryId, minPrice, maxPrice, inStock, featured)
-                .stream()
-                .map(ProductController::toDto)
-                .toList();
+        return productRepository.findDtosByFilters(q, categoryId, subCategoryId, minPrice, maxPrice, inStock, featured);
     }
 
+    @QueryBudget(2)
     @GetMapping("/filters")
     public FilterOptionsDto getFilterOptions() {
         // Get all tags from products and split by comma
-        List<String> allTags = productRepository.findAllTags();
-        List<String> tags = allTags.stream()
-                .flatMap(tagsCsv -> {
-                    if (tagsCsv == null || tagsCsv.isEmpty()) {
-                        return java.util.stream.Stream.empty();
-                    }
-                    return Arrays.stream(tagsCsv.split(","))
-                            .map(String::trim)
-                            .filter(tag -> !tag.isEmpty());
-                })
-                .distinct()
-                .sorted()
-                .collect(Collectors.toList());
+        List<String> tags = splitTags(productRepository.findAllTags());
 
         List<String> sizes = productRepository.findDistinctSizes();
 
@@ -97,11 +90,11 @@ public class ProductController {
         return new FilterOptionsDto(tags, sizes, sortOptions);
     }
 
+    @QueryBudget(1)
     @GetMapping("/{id}")
     public ProductDto get(@PathVariable Long id) {
-        Product product = productRepository.findById(id)
+        return productRepository.findDtoById(id)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found"));
-        return toDto(product);
     }
 
     @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
@@ -250,6 +243,7 @@ public class ProductController {
         if (tags != null) {
             product.setTagsCsv(tags);
         }
+        boolean wasInStock = product.isInStock();
         if (inStock != null) {
             product.setInStock(inStock);
         }
@@ -269,6 +263,10 @@ public class ProductController {
         }
 
         Product saved = productRepository.save(product);
+        if (saved.isInStock() != wasInStock) {
+            adminEventHub.publish(AdminEventHub.STOCK, String.valueOf(saved.getId()),
+                    Map.of("productId", saved.getId(), "name", saved.getName(), "inStock", saved.isInStock()));
+        }
         return toDto(saved);
     }
 
@@ -282,7 +280,22 @@ public class ProductController {
         productRepository.delete(product);
     }
 
-    private static ProductDto toDto(Product p) {
+    static List<String> splitTags(List<String> allTags) {
+        return allTags.stream()
+                .flatMap(tagsCsv -> {
+                    if (tagsCsv == null || tagsCsv.isEmpty()) {
+                        return java.util.stream.Stream.empty();
+                    }
+                    return Arrays.stream(tagsCsv.split(","))
+                            .map(String::trim)
+                            .filter(tag -> !tag.isEmpty());
+                })
+                .distinct()
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    static ProductDto toDto(Product p) {
         Long categoryId = p.getCategory() == null ? null : p.getCategory().getId();
         Long subCategoryId = p.getSubCategory() == null ? null : p.getSubCategory().getId();
 
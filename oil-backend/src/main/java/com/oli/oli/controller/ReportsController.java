@@ -6,6 +6,7 @@ import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Locale;
@@ -19,26 +20,44 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.oli.oli.config.QueryBudget;
+import com.oli.oli.dto.OrderSnapshotDto;
+import com.oli.oli.dto.OrderTotalDto;
 import com.oli.oli.model.OrderEntity;
 import com.oli.oli.model.OrderItemEntity;
+import com.oli.oli.repository.ArchivedOrderRepository;
 import com.oli.oli.repository.OrderItemRepository;
 import com.oli.oli.repository.OrderRepository;
 import com.oli.oli.repository.UserRepository;
+import com.oli.oli.service.OrderArchiveService;
 
+/**
+ * Monthly admin reports. Closed orders older than {@code app.orders.archive.after-months} live in
+ * {@code orders_archive}, so every report reads the archive for its window as well as {@code orders}.
+ */
 @RestController
 @RequestMapping("/api/admin/reports")
 public class ReportsController {
 
+    private record StatusRow(Instant createdAt, String status, String deliveryProvider) {
+    }
+
     private final OrderRepository orderRepository;
     private final OrderItemRepository orderItemRepository;
     private final UserRepository userRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final OrderArchiveService orderArchiveService;
 
-    public ReportsController(OrderRepository orderRepository, OrderItemRepository orderItemRepository, UserRepository userRepository) {
+    public ReportsController(OrderRepository orderRepository, OrderItemRepository orderItemRepository, UserRepository userRepository,
+            ArchivedOrderRepository archivedOrderRepository, OrderArchiveService orderArchiveService) {
         this.orderRepository = orderRepository;
         this.orderItemRepository = orderItemRepository;
         this.userRepository = userRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.orderArchiveService = orderArchiveService;
     }
 
+    @QueryBudget(3)
     @GetMapping("/overview")
     public Map<String, Object> overview(@RequestParam(value = "months", defaultValue = "12") int months) {
         int m = Math.max(1, Math.min(months, 60));
@@ -48,23 +67,25 @@ public class ReportsController {
         YearMonth startMonth = current.minusMonths(m - 1L);
         Instant startInstant = startMonth.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
 
-        List<OrderEntity> orders = orderRepository.findAll().stream()
+        List<OrderTotalDto> orders = orderRepository.findAll().stream()
                 .filter(o -> o != null && o.getCreatedAt() != null)
                 .filter(o -> !o.getCreatedAt().isBefore(startInstant))
-                .collect(Collectors.toList());
+                .map(o -> new OrderTotalDto(o.getCreatedAt(), o.getPaymentStatus(), o.getTotal()))
+                .collect(Collectors.toCollection(ArrayList::new));
+        orders.addAll(archivedOrderRepository.findTotalsSince(startInstant));
 
         Map<YearMonth, BigDecimal> revenueByMonth = orders.stream()
-                .filter(o -> isPaid(o.getPaymentStatus()))
+                .filter(o -> isPaid(o.paymentStatus()))
                 .collect(Collectors.groupingBy(
-                        o -> YearMonth.from(LocalDate.ofInstant(o.getCreatedAt(), ZoneOffset.UTC)),
+                        o -> YearMonth.from(LocalDate.ofInstant(o.createdAt(), ZoneOffset.UTC)),
                         Collectors.mapping(
-                                o -> o.getTotal() == null ? BigDecimal.ZERO : o.getTotal(),
+                                o -> o.total() == null ? BigDecimal.ZERO : o.total(),
                                 Collectors.reducing(BigDecimal.ZERO, BigDecimal::add))));
 
         Map<YearMonth, Long> paidOrdersByMonth = orders.stream()
-                .filter(o -> isPaid(o.getPaymentStatus()))
+                .filter(o -> isPaid(o.paymentStatus()))
                 .collect(Collectors.groupingBy(
-                        o -> YearMonth.from(LocalDate.ofInstant(o.getCreatedAt(), ZoneOffset.UTC)),
+                        o -> YearMonth.from(LocalDate.ofInstant(o.createdAt(), ZoneOffset.UTC)),
                         Collectors.counting()));
 
         Instant startForUsers = startInstant;
@@ -110,6 +131,7 @@ public class ReportsController {
         return resp;
     }
 
+    @QueryBudget(3)
     @GetMapping("/top-products")
     public Map<String, Object> topProducts(
             @RequestParam(value = "months", defaultValue = "3") int months,
@@ -136,18 +158,17 @@ public class ReportsController {
             if (!paidOrders.containsKey(it.getOrder().getId())) {
                 continue;
             }
+            add(agg, it.getProductId(), it.getProductName(), it.getQuantity(), it.getUnitPrice());
+        }
 
-            String key = (it.getProductId() == null ? "" : String.valueOf(it.getProductId())) + "|" + safe(it.getProductName());
-            ProductAgg a = agg.get(key);
-            if (a == null) {
-                a = new ProductAgg(it.getProductId(), it.getProductName());
-                agg.put(key, a);
+        // Archived items are only in the order's document.
+        for (OrderSnapshotDto s : orderArchiveService.findCreatedSince(start)) {
+            if (!isPaid(s.paymentStatus()) || s.items() == null) {
+                continue;
+            }
+            for (OrderSnapshotDto.Item it : s.items()) {
+                add(agg, it.productId(), it.productName(), it.quantity(), it.unitPrice());
             }
-
-            int qty = it.getQuantity() == null ? 0 : it.getQuantity();
-            BigDecimal unit = it.getUnitPrice() == null ? BigDecimal.ZERO : it.getUnitPrice();
-            a.quantity += qty;
-            a.revenue = a.revenue.add(unit.multiply(new BigDecimal(qty)));
         }
 
         List<Map<String, Object>> products = agg.values().stream()
@@ -169,6 +190,7 @@ public class ReportsController {
                 "products", products);
     }
 
+    @QueryBudget(2)
     @GetMapping("/orders-breakdown")
     public Map<String, Object> ordersBreakdown(@RequestParam(value = "months", defaultValue = "12") int months) {
         int m = Math.max(1, Math.min(months, 60));
@@ -178,10 +200,15 @@ public class ReportsController {
         YearMonth startMonth = current.minusMonths(m - 1L);
         Instant startInstant = startMonth.atDay(1).atStartOfDay().toInstant(ZoneOffset.UTC);
 
-        List<OrderEntity> orders = orderRepository.findAll().stream()
+        List<StatusRow> orders = orderRepository.findAll().stream()
                 .filter(o -> o != null && o.getCreatedAt() != null)
                 .filter(o -> !o.getCreatedAt().isBefore(startInstant))
-                .collect(Collectors.toList());
+                .map(o -> new StatusRow(o.getCreatedAt(), o.getStatus(), o.getDeliveryProvider()))
+                .collect(Collectors.toCollection(ArrayList::new));
+        // The delivery provider of an archived order is only in its document.
+        for (OrderSnapshotDto s : orderArchiveService.findCreatedSince(startInstant)) {
+            orders.add(new StatusRow(s.createdAt(), s.status(), s.deliveryProvider()));
+        }
 
         Map<YearMonth, Long> pendingByMonth = new HashMap<>();
         Map<YearMonth, Long> processingByMonth = new HashMap<>();
@@ -193,10 +220,10 @@ public class ReportsController {
         Map<YearMonth, Long> manualByMonth = new HashMap<>();
         Map<YearMonth, Long> otherDeliveryByMonth = new HashMap<>();
 
-        for (OrderEntity o : orders) {
-            YearMonth ym = YearMonth.from(LocalDate.ofInstant(o.getCreatedAt(), ZoneOffset.UTC));
+        for (StatusRow o : orders) {
+            YearMonth ym = YearMonth.from(LocalDate.ofInstant(o.createdAt(), ZoneOffset.UTC));
 
-            String st = normalize(o.getStatus());
+            String st = normalize(o.status());
             if (st.equals("pending") || st.equals("pending fulfillment") || st.equals("pending_fulfillment")) {
                 pendingByMonth.merge(ym, 1L, Long::sum);
             } else if (st.equals("processing")) {
@@ -211,7 +238,7 @@ public class ReportsController {
                 pendingByMonth.merge(ym, 1L, Long::sum);
             }
 
-            String dp = normalize(o.getDeliveryProvider());
+            String dp = normalize(o.deliveryProvider());
             if (dp.equals("ithink")) {
                 ithinkByMonth.merge(ym, 1L, Long::sum);
             } else if (dp.isBlank() || dp.equals("manual") || dp.equals("none")) {
@@ -246,6 +273,20 @@ public class ReportsController {
         return resp;
     }
 
+    private static void add(Map<String, ProductAgg> agg, Long productId, String name, Integer quantity, BigDecimal unitPrice) {
+        String key = (productId == null ? "" : String.valueOf(productId)) + "|" + safe(name);
+        ProductAgg a = agg.get(key);
+        if (a == null) {
+            a = new ProductAgg(productId, name);
+            agg.put(key, a);
+        }
+
+        int qty = quantity == null ? 0 : quantity;
+        BigDecimal unit = unitPrice == null ? BigDecimal.ZERO : unitPrice;
+        a.quantity += qty;
+        a.revenue = a.revenue.add(unit.multiply(new BigDecimal(qty)));
+    }
+
     private static String safe(String v) {
         return v == null ? "" : v;
     }
@@ -11,10 +11,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.oli.oli.config.QueryBudget;
 import com.oli.oli.dto.CategoryDto;
 import com.oli.oli.dto.ProductDto;
-import com.oli.oli.model.Category;
-import com.oli.oli.model.Product;
 import com.oli.oli.repository.CategoryRepository;
 import com.oli.oli.repository.ProductRepository;
 
@@ -30,6 +29,7 @@ public class SearchController {
         this.categoryRepository = categoryRepository;
     }
 
+    @QueryBudget(2)
     @GetMapping
     public Map<String, Object> globalSearch(@RequestParam(value = "q", required = false) String query) {
         Map<String, Object> result = new HashMap<>();
@@ -41,29 +41,10 @@ public class SearchController {
             return result;
         }
 
-        String searchQuery = query.trim().toLowerCase();
-
-        // Search products by name or description
-        List<Product> allProducts = productRepository.findAll();
-        List<ProductDto> matchedProducts = allProducts.stream()
-                .filter(product -> {
-                    String name = (product.getName() != null ? product.getName().toLowerCase() : "");
-                    String description = (product.getDescription() != null ? product.getDescription().toLowerCase() : "");
-                    String shortDescription = (product.getShortDescription() != null ? product.getShortDescription().toLowerCase() : "");
-                    return name.contains(searchQuery) || description.contains(searchQuery) || shortDescription.contains(searchQuery);
-                })
-                .map(this::productToDto)
-                .toList();
-
-        // Search categories by name
-        List<Category> allCategories = categoryRepository.findAll();
-        List<CategoryDto> matchedCategories = allCategories.stream()
-                .filter(category -> {
-                    String name = (category.getName() != null ? category.getName().toLowerCase() : "");
-                    return name.contains(searchQuery);
-                })
-                .map(this::categoryToDto)
-                .toList();
+        // Search products by name or description, and categories by name
+        String pattern = "%" + escapeLike(query.trim().toLowerCase()) + "%";
+        List<ProductDto> matchedProducts = productRepository.searchDtos(pattern);
+        List<CategoryDto> matchedCategories = categoryRepository.searchDtos(pattern);
 
         result.put("products", matchedProducts);
         result.put("categories", matchedCategories);
@@ -72,40 +53,9 @@ public class SearchController {
         return result;
     }
 
-    private ProductDto productToDto(Product product) {
-        Long categoryId = product.getCategory() != null ? product.getCategory().getId() : null;
-        Long subCategoryId = product.getSubCategory() != null ? product.getSubCategory().getId() : null;
-
-        return new ProductDto(
-                product.getId(),
-                categoryId,
-                subCategoryId,
-                product.getName(),
-                product.getSlug(),
-                product.getShortDescription(),
-                product.getDescription(),
-                product.getPrice(),
-                product.getOriginalPrice(),
-                product.getRating(),
-                product.getReviewCount(),
-                product.getSize(),
-                product.getSaleOffer(),
-                product.getTagsCsv(),
-                product.isInStock(),
-                product.isFeatured(),
-                product.isBestseller(),
-                product.isNewLaunch(),
-                product.getImageUrl()
-        );
-    }
-
-    private CategoryDto categoryToDto(Category category) {
-        return new CategoryDto(
-                category.getId(),
-                category.getName(),
-                category.getSlug(),
-                category.getImageUrl()
-        );
+    // The query is matched literally, as a substring; LIKE wildcards in it are escaped.
+    static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
 }
 
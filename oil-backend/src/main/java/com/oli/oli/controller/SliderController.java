@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.oli.oli.config.QueryBudget;
 import com.oli.oli.dto.SliderDto;
 import com.oli.oli.model.Slider;
 import com.oli.oli.repository.SliderRepository;
@@ -33,11 +34,13 @@ public class SliderController {
         this.fileStorageService = fileStorageService;
     }
 
+    @QueryBudget(1)
     @GetMapping
     public List<SliderDto> list() {
-        return sliderRepository.findAll().stream().map(SliderController::toDto).toList();
+        return sliderRepository.findAllDtos();
     }
 
+    @QueryBudget(1)
     @GetMapping("/{id}")
     public SliderDto get(@PathVariable Long id) {
         Slider slider = sliderRepository.findById(id)
@@ -0,0 +1,53 @@
+package com.oli.oli.controller;
+
+import java.util.List;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.oli.oli.config.QueryBudget;
+import com.oli.oli.dto.StockLevelDto;
+import com.oli.oli.service.StockService;
+
+@RestController
+@RequestMapping("/api/admin/stock")
+public class StockController {
+
+    private final StockService stockService;
+
+    public StockController(StockService stockService) {
+        this.stockService = stockService;
+    }
+
+    public record SetStockRequest(String variant, Integer quantity, Integer stripes) {
+    }
+
+    @QueryBudget(1)
+    @GetMapping("/{productId}")
+    public List<StockLevelDto> get(@PathVariable Long productId) {
+        return stockService.levels(productId);
+    }
+
+    @PutMapping("/{productId}")
+    public StockLevelDto set(@PathVariable Long productId, @RequestBody SetStockRequest req) {
+        if (req == null || req.quantity() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "quantity is required");
+        }
+        return stockService.set(productId, req.variant(), req.quantity(), req.stripes());
+    }
+
+    @DeleteMapping("/{productId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void untrack(@PathVariable Long productId, @RequestParam(value = "variant", required = false) String variant) {
+        stockService.untrack(productId, variant);
+    }
+}
@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.oli.oli.config.QueryBudget;
 import com.oli.oli.dto.SubCategoryDto;
 import com.oli.oli.model.Category;
 import com.oli.oli.model.SubCategory;
@@ -36,6 +37,7 @@ public class SubCategoryController {
         this.categoryRepository = categoryRepository;
     }
 
+    @QueryBudget(1)
     @GetMapping
     public List<SubCategoryDto> list(@RequestParam(value = "categoryId", required = false) Long categoryId) {
         List<SubCategory> items = categoryId == null
@@ -44,6 +46,7 @@ public class SubCategoryController {
         return items.stream().map(SubCategoryController::toDto).toList();
     }
 
+    @QueryBudget(1)
     @GetMapping("/{id}")
     public SubCategoryDto get(@PathVariable Long id) {
         SubCategory sc = subCategoryRepository.findById(id)
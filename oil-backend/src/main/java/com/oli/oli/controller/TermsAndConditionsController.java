@@ -15,6 +15,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.oli.oli.config.QueryBudget;
 import com.oli.oli.dto.TermsAndConditionsDto;
 import com.oli.oli.model.TermsAndConditions;
 import com.oli.oli.repository.TermsAndConditionsRepository;
@@ -29,6 +30,7 @@ public class TermsAndConditionsController {
         this.termsRepository = termsRepository;
     }
 
+    @QueryBudget(1)
     @GetMapping
     public List<TermsAndConditionsDto> list() {
         return termsRepository.findByIsActiveOrderBySectionOrderAsc(true)
@@ -37,6 +39,7 @@ public class TermsAndConditionsController {
                 .collect(Collectors.toList());
     }
 
+    @QueryBudget(1)
     @GetMapping("/admin/all")
     public List<TermsAndConditionsDto> listAll() {
         return termsRepository.findAll()
@@ -45,6 +48,7 @@ public class TermsAndConditionsController {
                 .collect(Collectors.toList());
     }
 
+    @QueryBudget(1)
     @GetMapping("/{id}")
     public TermsAndConditionsDto get(@PathVariable Long id) {
         TermsAndConditions terms = termsRepository.findById(id)
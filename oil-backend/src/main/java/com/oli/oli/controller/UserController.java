@@ -16,6 +16,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.oli.oli.config.QueryBudget;
 import com.oli.oli.dto.UserDto;
 import com.oli.oli.dto.UserPageResponse;
 import com.oli.oli.model.User;
@@ -55,6 +56,7 @@ public class UserController {
         this.userService = userService;
     }
 
+    @QueryBudget(2)
     @GetMapping
     public UserPageResponse list(
             @RequestParam(value = "q", required = false) String q,
@@ -88,6 +90,7 @@ public class UserController {
         return new UserPageResponse(userDtos, total, page, pageSize, totalPages);
     }
 
+    @QueryBudget(1)
     @GetMapping("/{id}")
     public UserDto get(@PathVariable Long id) {
         User user = userRepository.findById(id)
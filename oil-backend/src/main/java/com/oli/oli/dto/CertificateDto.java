@@ -1,4 +1,16 @@
 package com.oli.oli.dto;
 
+import com.oli.oli.model.Certificate;
+
 public record CertificateDto(Long id, String type, String title, String fileUrl, String lastUpdated) {
+
+    public static CertificateDto of(Certificate c) {
+        return new CertificateDto(
+                c.getId(),
+                c.getType(),
+                c.getTitle(),
+                c.getFileUrl(),
+                c.getLastUpdated() != null ? c.getLastUpdated().toString() : null
+        );
+    }
 }
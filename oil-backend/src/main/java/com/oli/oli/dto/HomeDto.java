@@ -0,0 +1,13 @@
+package com.oli.oli.dto;
+
+import java.util.List;
+
+public record HomeDto(
+        List<SliderDto> sliders,
+        List<CategoryDto> categories,
+        List<CertificateDto> certificates,
+        List<ProductDto> featured,
+        List<ProductDto> bestsellers,
+        List<ProductDto> newLaunches
+) {
+}
@@ -0,0 +1,7 @@
+package com.oli.oli.dto;
+
+public record InventoryCountsDto(
+        long total,
+        long outOfStock
+) {
+}
@@ -0,0 +1,8 @@
+package com.oli.oli.dto;
+
+public record InventoryItemDto(
+        Long id,
+        String name,
+        boolean inStock
+) {
+}
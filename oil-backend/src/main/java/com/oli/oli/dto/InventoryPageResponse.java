@@ -0,0 +1,13 @@
+package com.oli.oli.dto;
+
+import java.util.List;
+
+public record InventoryPageResponse(
+        List<InventoryItemDto> products,
+        long total,
+        long outOfStockCount,
+        int page,
+        int pageSize,
+        int totalPages
+) {
+}
@@ -0,0 +1,14 @@
+package com.oli.oli.dto;
+
+import java.time.Instant;
+
+import com.oli.oli.model.JobRun;
+
+public record JobRunDto(Long id, String job, String node, String status, Instant startedAt, Instant finishedAt,
+        Long durationMs, String error) {
+
+    public static JobRunDto of(JobRun run) {
+        return new JobRunDto(run.getId(), run.getJobName(), run.getNode(), run.getStatus().name(), run.getStartedAt(),
+                run.getFinishedAt(), run.getDurationMs(), run.getError());
+    }
+}
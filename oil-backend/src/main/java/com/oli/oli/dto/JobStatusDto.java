@@ -0,0 +1,6 @@
+package com.oli.oli.dto;
+
+import java.time.Instant;
+
+public record JobStatusDto(String job, JobRunDto lastRun, Instant lastSucceededAt) {
+}
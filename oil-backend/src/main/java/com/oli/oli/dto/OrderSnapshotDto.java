@@ -0,0 +1,64 @@
+package com.oli.oli.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import com.oli.oli.model.OrderEntity;
+import com.oli.oli.model.OrderItemEntity;
+
+/** The archived form of an order and its items; see {@link com.oli.oli.model.ArchivedOrder}. */
+public record OrderSnapshotDto(
+        String id,
+        Instant createdAt,
+        Instant updatedAt,
+        String customerName,
+        String customerEmail,
+        String customerPhone,
+        String shippingAddress,
+        String shippingCity,
+        String shippingState,
+        String shippingPincode,
+        BigDecimal subtotal,
+        BigDecimal shipping,
+        BigDecimal total,
+        String paymentMethod,
+        String paymentStatus,
+        String cashfreeOrderId,
+        String deliveryProvider,
+        String trackingId,
+        String trackingUrl,
+        String status,
+        List<Item> items
+) {
+
+    public record Item(Long productId, String productName, String variant, Integer quantity, BigDecimal unitPrice) {
+    }
+
+    public static OrderSnapshotDto of(OrderEntity o, List<OrderItemEntity> items) {
+        return new OrderSnapshotDto(
+                o.getId(),
+                o.getCreatedAt(),
+                o.getUpdatedAt(),
+                o.getCustomerName(),
+                o.getCustomerEmail(),
+                o.getCustomerPhone(),
+                o.getShippingAddress(),
+                o.getShippingCity(),
+                o.getShippingState(),
+                o.getShippingPincode(),
+                o.getSubtotal(),
+                o.getShipping(),
+                o.getTotal(),
+                o.getPaymentMethod(),
+                o.getPaymentStatus(),
+                o.getCashfreeOrderId(),
+                o.getDeliveryProvider(),
+                o.getTrackingId(),
+                o.getTrackingUrl(),
+                o.getStatus(),
+                items.stream()
+                        .map(x -> new Item(x.getProductId(), x.getProductName(), x.getVariant(), x.getQuantity(), x.getUnitPrice()))
+                        .toList());
+    }
+}
@@ -0,0 +1,11 @@
+package com.oli.oli.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+public record OrderTotalDto(
+        Instant createdAt,
+        String paymentStatus,
+        BigDecimal total
+) {
+}
@@ -0,0 +1,8 @@
+package com.oli.oli.dto;
+
+public record StockLevelDto(
+        String variant,
+        long available,
+        long stripes
+) {
+}
@@ -0,0 +1,7 @@
+package com.oli.oli.dto;
+
+public record StockStripeDto(
+        int stripe,
+        int available
+) {
+}
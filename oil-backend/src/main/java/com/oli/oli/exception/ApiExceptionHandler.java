@@ -5,10 +5,15 @@ import java.time.Instant;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestControllerAdvice
 public class ApiExceptionHandler {
@@ -18,6 +23,11 @@ public class ApiExceptionHandler {
     public record ErrorResponse(String message, Instant timestamp) {
     }
 
+    @ExceptionHandler(ResponseStatusException.class)
+    public ResponseEntity<ErrorResponse> handleResponseStatusException(ResponseStatusException ex) {
+        return ResponseEntity.status(ex.getStatusCode()).body(new ErrorResponse(ex.getReason(), Instant.now()));
+    }
+
     @ExceptionHandler(IllegalArgumentException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleIllegalArgumentException(IllegalArgumentException ex) {
@@ -30,6 +40,31 @@ public class ApiExceptionHandler {
         return new ErrorResponse(ex.getMessage(), Instant.now());
     }
 
+    // Lock timeouts and deadlock victims are transient; the client can retry with the same Idempotency-Key.
+    @ExceptionHandler(PessimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handlePessimisticLockingFailureException(PessimisticLockingFailureException ex) {
+        logger.warn("Lock conflict: {}", ex.getMostSpecificCause().getMessage());
+        return new ErrorResponse("The request conflicted with a concurrent update. Please try again.", Instant.now());
+    }
+
+    // A statement hit its pool's statement_timeout and was cancelled by the server.
+    @ExceptionHandler(QueryTimeoutException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleQueryTimeoutException(QueryTimeoutException ex) {
+        logger.warn("Query cancelled: {}", ex.getMostSpecificCause().getMessage());
+        return new ErrorResponse("The request took too long. Try a narrower date range or try again later.",
+                Instant.now());
+    }
+
+    // No connection within the pool's connection-timeout, e.g. the analytics pool is saturated.
+    @ExceptionHandler(DataAccessResourceFailureException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleDataAccessResourceFailureException(DataAccessResourceFailureException ex) {
+        logger.warn("Database unavailable: {}", ex.getMostSpecificCause().getMessage());
+        return new ErrorResponse("The service is busy. Please try again shortly.", Instant.now());
+    }
+
     @ExceptionHandler(DataAccessException.class)
     @ResponseStatus(HttpStatus.INTERNAL_SERVER_ERROR)
     public ErrorResponse handleDataAccessException(DataAccessException ex) {
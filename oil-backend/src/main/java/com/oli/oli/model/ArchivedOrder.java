@@ -0,0 +1,110 @@
+package com.oli.oli.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
+
+/**
+ * A closed order moved out of {@code orders}, with its items, as one gzip-compressed JSON document. The
+ * columns kept outside the document are the ones reports filter on. On PostgreSQL the table is
+ * range-partitioned by month on {@code created_at} (see V3__orders_archive.sql).
+ */
+@Entity
+@Table(name = "orders_archive")
+public class ArchivedOrder {
+
+    @Id
+    @Column(length = 64)
+    private String id;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    @Column(name = "customer_email")
+    private String customerEmail;
+
+    @Column(name = "status", length = 32)
+    private String status;
+
+    @Column(name = "payment_status", length = 32)
+    private String paymentStatus;
+
+    @Column(precision = 12, scale = 2)
+    private BigDecimal total;
+
+    @Column(name = "document", nullable = false, length = 1_048_576)
+    private byte[] document;
+
+    @Column(name = "archived_at", nullable = false, updatable = false)
+    private Instant archivedAt;
+
+    @PrePersist
+    void prePersist() {
+        archivedAt = Instant.now();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Instant createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getCustomerEmail() {
+        return customerEmail;
+    }
+
+    public void setCustomerEmail(String customerEmail) {
+        this.customerEmail = customerEmail;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getPaymentStatus() {
+        return paymentStatus;
+    }
+
+    public void setPaymentStatus(String paymentStatus) {
+        this.paymentStatus = paymentStatus;
+    }
+
+    public BigDecimal getTotal() {
+        return total;
+    }
+
+    public void setTotal(BigDecimal total) {
+        this.total = total;
+    }
+
+    public byte[] getDocument() {
+        return document;
+    }
+
+    public void setDocument(byte[] document) {
+        this.document = document;
+    }
+
+    public Instant getArchivedAt() {
+        return archivedAt;
+    }
+}
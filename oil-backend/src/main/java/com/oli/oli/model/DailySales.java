@@ -0,0 +1,65 @@
+package com.oli.oli.model;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import jakarta.persistence.Table;
+
+/** Paid revenue and paid order count per UTC day, keyed by the day the order was placed. */
+@Entity
+@Table(name = "daily_sales")
+public class DailySales {
+
+    @Id
+    @Column(name = "sales_date")
+    private LocalDate date;
+
+    @Column(name = "paid_revenue", nullable = false, precision = 14, scale = 2)
+    private BigDecimal paidRevenue = BigDecimal.ZERO;
+
+    @Column(name = "paid_orders", nullable = false)
+    private long paidOrders;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    void touch() {
+        updatedAt = Instant.now();
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public BigDecimal getPaidRevenue() {
+        return paidRevenue;
+    }
+
+    public void setPaidRevenue(BigDecimal paidRevenue) {
+        this.paidRevenue = paidRevenue;
+    }
+
+    public long getPaidOrders() {
+        return paidOrders;
+    }
+
+    public void setPaidOrders(long paidOrders) {
+        this.paidOrders = paidOrders;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
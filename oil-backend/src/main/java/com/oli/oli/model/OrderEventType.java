@@ -0,0 +1,8 @@
+package com.oli.oli.model;
+
+public enum OrderEventType {
+    CREATED,
+    STATUS_CHANGED,
+    PAYMENT_STATUS_CHANGED,
+    TRACKING_UPDATED
+}
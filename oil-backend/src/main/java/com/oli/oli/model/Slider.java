@@ -1,5 +1,8 @@
 package com.oli.oli.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -9,6 +12,7 @@ import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "sliders")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "sliders")
 public class Slider {
 
     @Id
@@ -0,0 +1,77 @@
+package com.oli.oli.model;
+
+import org.hibernate.annotations.Check;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Available quantity for one stripe of a product/variant. A SKU's stock may be split over several stripes so
+ * concurrent reservations update different rows; products without rows are not stock-tracked.
+ */
+@Entity
+@Table(name = "stock_levels", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_stock_levels_sku_stripe", columnNames = { "product_id", "variant", "stripe" })
+})
+@Check(constraints = "available >= 0")
+public class StockLevel {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_levels_seq")
+    @SequenceGenerator(name = "stock_levels_seq", sequenceName = "stock_levels_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "product_id", nullable = false)
+    private Long productId;
+
+    @Column(name = "variant", nullable = false, length = 100)
+    private String variant;
+
+    @Column(name = "stripe", nullable = false)
+    private int stripe;
+
+    @Column(name = "available", nullable = false)
+    private int available;
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Long productId) {
+        this.productId = productId;
+    }
+
+    public String getVariant() {
+        return variant;
+    }
+
+    public void setVariant(String variant) {
+        this.variant = variant;
+    }
+
+    public int getStripe() {
+        return stripe;
+    }
+
+    public void setStripe(int stripe) {
+        this.stripe = stripe;
+    }
+
+    public int getAvailable() {
+        return available;
+    }
+
+    public void setAvailable(int available) {
+        this.available = available;
+    }
+}
@@ -0,0 +1,7 @@
+package com.oli.oli.model;
+
+public enum StockReservationStatus {
+    RESERVED,
+    COMMITTED,
+    RELEASED
+}
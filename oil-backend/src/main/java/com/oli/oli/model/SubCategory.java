@@ -1,5 +1,8 @@
 package com.oli.oli.model;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
@@ -12,6 +15,7 @@ import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "sub_categories")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "sub-categories")
 public class SubCategory {
 
     @Id
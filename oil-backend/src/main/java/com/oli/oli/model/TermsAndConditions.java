@@ -2,6 +2,9 @@ package com.oli.oli.model;
 
 import java.time.LocalDateTime;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
@@ -13,6 +16,7 @@ import jakarta.persistence.Table;
 
 @Entity
 @Table(name = "terms_and_conditions")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "terms")
 public class TermsAndConditions {
 
     @Id
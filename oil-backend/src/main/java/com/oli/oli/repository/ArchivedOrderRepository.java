@@ -0,0 +1,24 @@
+package com.oli.oli.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.oli.oli.dto.OrderTotalDto;
+import com.oli.oli.model.ArchivedOrder;
+
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, String> {
+
+    // Plain columns only, so revenue reports never decompress a document.
+    @Query("SELECT new com.oli.oli.dto.OrderTotalDto(a.createdAt, a.paymentStatus, a.total) FROM ArchivedOrder a " +
+            "WHERE a.createdAt >= :since")
+    List<OrderTotalDto> findTotalsSince(@Param("since") Instant since);
+
+    List<ArchivedOrder> findByCreatedAtGreaterThanEqual(Instant since);
+
+    List<ArchivedOrder> findByCustomerEmailIgnoreCaseOrderByCreatedAtDesc(String customerEmail, Pageable pageable);
+}
@@ -1,11 +1,31 @@
 package com.oli.oli.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.oli.oli.dto.CategoryDto;
 import com.oli.oli.model.Category;
 
+import jakarta.persistence.QueryHint;
+
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<Category> findBySlug(String slug);
+
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @Query("SELECT new com.oli.oli.dto.CategoryDto(c.id, c.name, c.slug, c.imageUrl) FROM Category c")
+    List<CategoryDto> findAllDtos();
+
+    // pattern is a lower-case LIKE pattern escaped with a backslash.
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.oli.oli.dto.CategoryDto(c.id, c.name, c.slug, c.imageUrl) FROM Category c " +
+            "WHERE LOWER(c.name) LIKE :pattern ESCAPE '\\'")
+    List<CategoryDto> searchDtos(@Param("pattern") String pattern);
 }
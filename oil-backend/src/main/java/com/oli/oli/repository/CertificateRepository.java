@@ -1,11 +1,19 @@
 package com.oli.oli.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.oli.oli.model.Certificate;
 
+import jakarta.persistence.QueryHint;
+
 public interface CertificateRepository extends JpaRepository<Certificate, Long> {
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<Certificate> findAll();
+
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     Optional<Certificate> findByType(String type);
 }
@@ -0,0 +1,28 @@
+package com.oli.oli.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.oli.oli.model.DailySales;
+
+import jakarta.persistence.LockModeType;
+
+public interface DailySalesRepository extends JpaRepository<DailySales, LocalDate> {
+
+    List<DailySales> findByDateBetweenOrderByDate(LocalDate from, LocalDate to);
+
+    // Serializes refreshes of the same day across instances; a refresh recomputes the day after taking the lock.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM DailySales d WHERE d.date IN :dates")
+    List<DailySales> lockAll(@Param("dates") Collection<LocalDate> dates);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT d FROM DailySales d WHERE d.date >= :from AND d.date <= :to")
+    List<DailySales> lockRange(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,41 @@
+package com.oli.oli.repository;
+
+import java.time.Instant;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.oli.oli.model.IdempotencyKey;
+
+public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, String> {
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.expiresAt < :now")
+    int deleteExpired(@Param("now") Instant now);
+
+    // A plain INSERT rather than save(): a key another instance has claimed must fail on the primary key,
+    // not be merged into.
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_keys (idempotency_key, request_hash, created_at, expires_at) " +
+            "VALUES (:key, :requestHash, :now, :expiresAt)", nativeQuery = true)
+    int insertPending(@Param("key") String key, @Param("requestHash") String requestHash, @Param("now") Instant now,
+            @Param("expiresAt") Instant expiresAt);
+
+    @Modifying
+    @Query("UPDATE IdempotencyKey k SET k.responseBody = :responseBody, k.expiresAt = :expiresAt WHERE k.key = :key")
+    int complete(@Param("key") String key, @Param("responseBody") String responseBody,
+            @Param("expiresAt") Instant expiresAt);
+
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.key = :key AND k.responseBody IS NULL")
+    int release(@Param("key") String key);
+
+    // Expired keys, and pending claims whose instance died before finishing.
+    @Modifying
+    @Query("DELETE FROM IdempotencyKey k WHERE k.key = :key AND (k.expiresAt < :now OR " +
+            "(k.responseBody IS NULL AND k.createdAt < :abandonedBefore))")
+    int deleteStale(@Param("key") String key, @Param("now") Instant now,
+            @Param("abandonedBefore") Instant abandonedBefore);
+}
@@ -0,0 +1,38 @@
+package com.oli.oli.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.oli.oli.model.JobRun;
+
+public interface JobRunRepository extends JpaRepository<JobRun, Long> {
+
+    boolean existsByJobNameAndStatusNotAndStartedAtAfter(String jobName, JobRun.Status status, Instant after);
+
+    List<JobRun> findByJobNameOrderByStartedAtDesc(String jobName, Pageable pageable);
+
+    @Query("SELECT r FROM JobRun r WHERE r.id IN (SELECT MAX(l.id) FROM JobRun l GROUP BY l.jobName) " +
+            "ORDER BY r.jobName")
+    List<JobRun> findLatestPerJob();
+
+    @Query("SELECT r.jobName, MAX(r.startedAt) FROM JobRun r WHERE r.status = com.oli.oli.model.JobRun.Status.SUCCEEDED " +
+            "GROUP BY r.jobName")
+    List<Object[]> findLastSucceededPerJob();
+
+    // Runs left RUNNING by an instance that died; only called while holding the job's lock.
+    @Modifying
+    @Query("UPDATE JobRun r SET r.status = com.oli.oli.model.JobRun.Status.FAILED, r.finishedAt = :now, " +
+            "r.error = 'Abandoned: the instance running it stopped' " +
+            "WHERE r.jobName = :jobName AND r.status = com.oli.oli.model.JobRun.Status.RUNNING")
+    int abandonRunning(@Param("jobName") String jobName, @Param("now") Instant now);
+
+    @Modifying
+    @Query("DELETE FROM JobRun r WHERE r.startedAt < :before")
+    int deleteStartedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,37 @@
+package com.oli.oli.repository;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.oli.oli.model.OrderEventFailure;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface OrderEventFailureRepository extends JpaRepository<OrderEventFailure, Long> {
+
+    // Only failures of subscribers this instance has are claimed, so an instance running other code leaves
+    // them to one that can deliver them.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT f FROM OrderEventFailure f WHERE f.parkedAt IS NULL AND f.nextAttemptAt <= :now " +
+            "AND f.subscriber IN :subscribers ORDER BY f.eventId")
+    List<OrderEventFailure> claimDue(@Param("now") Instant now, @Param("subscribers") Collection<String> subscribers,
+            Pageable pageable);
+
+    long countByParkedAtIsNotNull();
+
+    // Parked rows, and rows of subscribers that no longer exist anywhere, once they are past retention.
+    @Modifying
+    @Query("DELETE FROM OrderEventFailure f WHERE f.parkedAt < :before OR f.nextAttemptAt < :before")
+    int deleteStaleBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,30 @@
+package com.oli.oli.repository;
+
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import com.oli.oli.model.OrderEvent;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
+public interface OrderEventRepository extends JpaRepository<OrderEvent, Long> {
+
+    // SKIP LOCKED lets several instances drain the outbox without handing out the same rows.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT e FROM OrderEvent e WHERE e.dispatchedAt IS NULL ORDER BY e.id")
+    List<OrderEvent> claimUndispatched(Pageable pageable);
+
+    @Modifying
+    @Query("DELETE FROM OrderEvent e WHERE e.dispatchedAt < :before")
+    int deleteDispatchedBefore(@Param("before") Instant before);
+}
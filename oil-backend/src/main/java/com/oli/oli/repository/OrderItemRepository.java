@@ -1,11 +1,21 @@
 package com.oli.oli.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.oli.oli.model.OrderItemEntity;
 
 public interface OrderItemRepository extends JpaRepository<OrderItemEntity, Long> {
     List<OrderItemEntity> findByOrder_Id(String orderId);
+
+    List<OrderItemEntity> findByOrder_IdIn(Collection<String> orderIds);
+
+    @Modifying
+    @Query("DELETE FROM OrderItemEntity i WHERE i.order.id IN :orderIds")
+    int deleteByOrderIds(@Param("orderIds") Collection<String> orderIds);
 }
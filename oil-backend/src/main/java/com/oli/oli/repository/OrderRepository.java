@@ -1,11 +1,56 @@
 package com.oli.oli.repository;
 
+import java.time.Instant;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import com.oli.oli.model.OrderEntity;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 public interface OrderRepository extends JpaRepository<OrderEntity, String> {
-    List<OrderEntity> findByCustomerEmailIgnoreCaseOrderByCreatedAtDesc(String customerEmail);
+    List<OrderEntity> findByCustomerEmailIgnoreCaseOrderByCreatedAtDesc(String customerEmail, Pageable pageable);
+
+    long countByCustomerEmailIgnoreCase(String customerEmail);
+
+    Optional<OrderEntity> findFirstByCashfreeOrderId(String cashfreeOrderId);
+
+    List<OrderEntity> findByOrderByCreatedAtDesc(Pageable pageable);
+
+    // Keyset page: orders after (afterCreatedAt, afterId), so a sweep can walk the whole window page by page.
+    @Query("SELECT o FROM OrderEntity o WHERE o.cashfreeOrderId IS NOT NULL " +
+            "AND (o.paymentStatus IS NULL OR LOWER(o.paymentStatus) IN ('unpaid', 'pending', 'active')) " +
+            "AND (o.createdAt > :afterCreatedAt OR (o.createdAt = :afterCreatedAt AND o.id > :afterId)) " +
+            "AND o.createdAt < :to ORDER BY o.createdAt, o.id")
+    List<OrderEntity> findUnsettledCashfreeOrders(@Param("afterCreatedAt") Instant afterCreatedAt,
+            @Param("afterId") String afterId, @Param("to") Instant to, Pageable pageable);
+
+    // Rows are [utc day, paid revenue, paid order count]. Archived orders still count towards their day.
+    @Query(value = "SELECT CAST(o.created_at AT TIME ZONE 'UTC' AS DATE) AS sales_date, " +
+            "COALESCE(SUM(o.total), 0) AS paid_revenue, COUNT(*) AS paid_orders FROM (" +
+            "SELECT created_at, total, payment_status FROM orders " +
+            "UNION ALL SELECT created_at, total, payment_status FROM orders_archive) o " +
+            "WHERE o.created_at >= :from AND o.created_at < :to " +
+            "AND LOWER(TRIM(o.payment_status)) IN ('paid', 'success', 'completed', 'captured') " +
+            "GROUP BY CAST(o.created_at AT TIME ZONE 'UTC' AS DATE)", nativeQuery = true)
+    List<Object[]> sumPaidByUtcDay(@Param("from") Instant from, @Param("to") Instant to);
+
+    @Query("SELECT MIN(o.createdAt) FROM OrderEntity o")
+    Optional<Instant> findFirstCreatedAt();
+
+    // SKIP LOCKED keeps archivers on several instances from claiming the same orders.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT o FROM OrderEntity o WHERE o.createdAt < :before AND LOWER(o.status) IN :statuses ORDER BY o.createdAt")
+    List<OrderEntity> claimArchivable(@Param("before") Instant before, @Param("statuses") Collection<String> statuses,
+            Pageable pageable);
 }
@@ -1,9 +1,13 @@
 package com.oli.oli.repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.oli.oli.model.Otp;
 
@@ -15,5 +19,9 @@ public interface OtpRepository extends JpaRepository<Otp, Long> {
     List<Otp> findByPhoneAndVerifiedFalse(String phone);
 
     void deleteByPhone(String phone);
+
+    @Modifying
+    @Query("DELETE FROM Otp o WHERE o.expiresAt < :before")
+    int deleteExpiredBefore(@Param("before") Instant before);
 }
 
@@ -4,35 +4,90 @@ import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.oli.oli.dto.InventoryCountsDto;
+import com.oli.oli.dto.InventoryItemDto;
+import com.oli.oli.dto.ProductDto;
 import com.oli.oli.model.Product;
 
 public interface ProductRepository extends JpaRepository<Product, Long> {
+
+    // Catalog reads select straight into ProductDto; no entities are hydrated or kept for dirty checking.
+    String SELECT_DTO = "SELECT new com.oli.oli.dto.ProductDto(p.id, p.category.id, p.subCategory.id, p.name, " +
+            "p.slug, p.shortDescription, p.description, p.price, p.originalPrice, p.rating, p.reviewCount, " +
+            "p.size, p.saleOffer, p.tagsCsv, p.inStock, p.featured, p.bestseller, p.newLaunch, p.imageUrl) " +
+            "FROM Product p ";
+
     Optional<Product> findBySlug(String slug);
 
-    @Query(value = "SELECT p.* FROM products p WHERE " +
-            "(:q IS NULL OR LOWER(p.name) LIKE LOWER('%' || :q || '%') OR " +
-            "(p.description IS NOT NULL AND LOWER(CAST(p.description AS TEXT)) LIKE LOWER('%' || :q || '%'))) AND " +
-            "(:categoryId IS NULL OR p.category_id = :categoryId) AND " +
-            "(:subCategoryId IS NULL OR (p.sub_category_id IS NOT NULL AND p.sub_category_id = :subCategoryId)) AND " +
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO + "WHERE p.id = :id")
+    Optional<ProductDto> findDtoById(@Param("id") Long id);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO + "WHERE " +
+            "(:q IS NULL OR LOWER(p.name) LIKE LOWER(CONCAT('%', :q, '%')) OR " +
+            "(p.description IS NOT NULL AND LOWER(p.description) LIKE LOWER(CONCAT('%', :q, '%')))) AND " +
+            "(:categoryId IS NULL OR p.category.id = :categoryId) AND " +
+            "(:subCategoryId IS NULL OR p.subCategory.id = :subCategoryId) AND " +
             "(:minPrice IS NULL OR p.price >= :minPrice) AND " +
             "(:maxPrice IS NULL OR p.price <= :maxPrice) AND " +
-            "(:inStock IS NULL OR p.in_stock = :inStock) AND " +
-            "(:featured IS NULL OR p.featured = :featured)", nativeQuery = true)
-    List<Product> findByFilters(@Param("q") String q,
-                                @Param("categoryId") Long categoryId,
-                                @Param("subCategoryId") Long subCategoryId,
-                                @Param("minPrice") BigDecimal minPrice,
-                                @Param("maxPrice") BigDecimal maxPrice,
-                                @Param("inStock") Boolean inStock,
-                                @Param("featured") Boolean featured);
+            "(:inStock IS NULL OR p.inStock = :inStock) AND " +
+            "(:featured IS NULL OR p.featured = :featured)")
+    List<ProductDto> findDtosByFilters(@Param("q") String q,
+                                       @Param("categoryId") Long categoryId,
+                                       @Param("subCategoryId") Long subCategoryId,
+                                       @Param("minPrice") BigDecimal minPrice,
+                                       @Param("maxPrice") BigDecimal maxPrice,
+                                       @Param("inStock") Boolean inStock,
+                                       @Param("featured") Boolean featured);
+
+    // pattern is a lower-case LIKE pattern escaped with a backslash.
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO + "WHERE LOWER(p.name) LIKE :pattern ESCAPE '\\' " +
+            "OR LOWER(p.description) LIKE :pattern ESCAPE '\\' " +
+            "OR LOWER(p.shortDescription) LIKE :pattern ESCAPE '\\'")
+    List<ProductDto> searchDtos(@Param("pattern") String pattern);
+
+    // Homepage sections (HomeService).
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO + "WHERE p.featured = true ORDER BY p.id")
+    List<ProductDto> findFeaturedDtos(Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO + "WHERE p.bestseller = true ORDER BY p.id")
+    List<ProductDto> findBestsellerDtos(Pageable pageable);
+
+    @Transactional(readOnly = true)
+    @Query(SELECT_DTO + "WHERE p.newLaunch = true ORDER BY p.id DESC")
+    List<ProductDto> findNewLaunchDtos(Pageable pageable);
 
     @Query("SELECT DISTINCT p.tagsCsv FROM Product p WHERE p.tagsCsv IS NOT NULL AND p.tagsCsv != ''")
     List<String> findAllTags();
 
     @Query(value = "SELECT DISTINCT size FROM products WHERE size IS NOT NULL AND size != '' ORDER BY size", nativeQuery = true)
     List<String> findDistinctSizes();
+
+    // Ordering matches idx_products_lower_name / idx_products_out_of_stock (db/migration/V2__hot_path_indexes.sql).
+    @Query("SELECT new com.oli.oli.dto.InventoryItemDto(p.id, p.name, p.inStock) FROM Product p " +
+            "ORDER BY LOWER(p.name), p.id")
+    List<InventoryItemDto> findInventoryPage(Pageable pageable);
+
+    @Query("SELECT new com.oli.oli.dto.InventoryItemDto(p.id, p.name, p.inStock) FROM Product p " +
+            "WHERE p.inStock = false ORDER BY LOWER(p.name), p.id")
+    List<InventoryItemDto> findOutOfStockPage(Pageable pageable);
+
+    @Query("SELECT new com.oli.oli.dto.InventoryCountsDto(COUNT(p), " +
+            "COALESCE(SUM(CASE WHEN p.inStock = false THEN 1 ELSE 0 END), 0)) FROM Product p")
+    InventoryCountsDto countInventory();
+
+    @Modifying
+    @Query("UPDATE Product p SET p.inStock = :inStock WHERE p.id = :id AND p.inStock <> :inStock")
+    int updateInStock(@Param("id") Long id, @Param("inStock") boolean inStock);
 }
@@ -1,8 +1,21 @@
 package com.oli.oli.repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.oli.oli.dto.SliderDto;
 import com.oli.oli.model.Slider;
 
+import jakarta.persistence.QueryHint;
+
 public interface SliderRepository extends JpaRepository<Slider, Long> {
+
+    @Transactional(readOnly = true)
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    @Query("SELECT new com.oli.oli.dto.SliderDto(s.id, s.title, s.imageUrl) FROM Slider s")
+    List<SliderDto> findAllDtos();
 }
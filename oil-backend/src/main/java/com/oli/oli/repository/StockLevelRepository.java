@@ -0,0 +1,56 @@
+package com.oli.oli.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.oli.oli.dto.StockLevelDto;
+import com.oli.oli.dto.StockStripeDto;
+import com.oli.oli.model.StockLevel;
+
+import jakarta.persistence.LockModeType;
+
+public interface StockLevelRepository extends JpaRepository<StockLevel, Long> {
+
+    @Query("SELECT new com.oli.oli.dto.StockStripeDto(s.stripe, s.available) FROM StockLevel s " +
+            "WHERE s.productId = :productId AND s.variant = :variant ORDER BY s.stripe")
+    List<StockStripeDto> findStripes(@Param("productId") Long productId, @Param("variant") String variant);
+
+    @Query("SELECT s.available FROM StockLevel s WHERE s.productId = :productId AND s.variant = :variant " +
+            "AND s.stripe = :stripe")
+    Integer availableOn(@Param("productId") Long productId, @Param("variant") String variant,
+            @Param("stripe") int stripe);
+
+    // Conditional decrement: 1 if the stripe still had the quantity, 0 otherwise. A concurrent taker holding the
+    // row makes this wait for its commit and then re-check, so the stripe can never go negative.
+    @Modifying
+    @Query("UPDATE StockLevel s SET s.available = s.available - :quantity WHERE s.productId = :productId " +
+            "AND s.variant = :variant AND s.stripe = :stripe AND s.available >= :quantity")
+    int take(@Param("productId") Long productId, @Param("variant") String variant, @Param("stripe") int stripe,
+            @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE StockLevel s SET s.available = s.available + :quantity WHERE s.productId = :productId " +
+            "AND s.variant = :variant AND s.stripe = :stripe")
+    int give(@Param("productId") Long productId, @Param("variant") String variant, @Param("stripe") int stripe,
+            @Param("quantity") int quantity);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM StockLevel s WHERE s.productId = :productId AND s.variant = :variant ORDER BY s.stripe")
+    List<StockLevel> lockStripes(@Param("productId") Long productId, @Param("variant") String variant);
+
+    @Query("SELECT COALESCE(SUM(s.available), 0) FROM StockLevel s WHERE s.productId = :productId")
+    long sumAvailable(@Param("productId") Long productId);
+
+    @Query("SELECT new com.oli.oli.dto.StockLevelDto(s.variant, SUM(s.available), COUNT(s)) FROM StockLevel s " +
+            "WHERE s.productId = :productId GROUP BY s.variant ORDER BY s.variant")
+    List<StockLevelDto> summarize(@Param("productId") Long productId);
+
+    @Modifying
+    @Query("DELETE FROM StockLevel s WHERE s.productId = :productId AND s.variant = :variant")
+    int deleteSku(@Param("productId") Long productId, @Param("variant") String variant);
+}
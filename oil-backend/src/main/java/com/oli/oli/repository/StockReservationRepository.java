@@ -0,0 +1,20 @@
+package com.oli.oli.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.oli.oli.model.StockReservation;
+import com.oli.oli.model.StockReservationStatus;
+
+import jakarta.persistence.LockModeType;
+
+public interface StockReservationRepository extends JpaRepository<StockReservation, Long> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM StockReservation r WHERE r.orderId = :orderId AND r.status = :status ORDER BY r.id")
+    List<StockReservation> lockByOrder(@Param("orderId") String orderId, @Param("status") StockReservationStatus status);
+}
@@ -3,9 +3,16 @@ package com.oli.oli.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 
 import com.oli.oli.model.SubCategory;
 
+import jakarta.persistence.QueryHint;
+
 public interface SubCategoryRepository extends JpaRepository<SubCategory, Long> {
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<SubCategory> findAll();
+
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<SubCategory> findByCategoryId(Long categoryId);
 }
@@ -5,13 +5,17 @@ import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.oli.oli.model.TermsAndConditions;
 
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface TermsAndConditionsRepository extends JpaRepository<TermsAndConditions, Long> {
     
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
     List<TermsAndConditions> findByIsActiveOrderBySectionOrderAsc(Boolean isActive);
     
     Optional<TermsAndConditions> findBySectionTitleAndIsActive(String sectionTitle, Boolean isActive);
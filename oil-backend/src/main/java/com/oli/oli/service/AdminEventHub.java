@@ -0,0 +1,178 @@
+package com.oli.oli.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Fans dashboard events out to connected admin sessions over server-sent events. Publishing only enqueues:
+ * each client has a bounded queue drained by a small shared sender pool, and a client whose queue fills up
+ * is disconnected rather than slowing down everyone else. Browsers reconnect and reload their snapshot.
+ */
+@Service
+public class AdminEventHub {
+
+    private static final Logger log = LoggerFactory.getLogger(AdminEventHub.class);
+
+    public static final String ORDER = "order";
+    public static final String ORDER_STATUS = "order-status";
+    public static final String PAYMENT = "payment";
+    public static final String STOCK = "stock";
+
+    public static final Set<String> ALL_TOPICS = Set.of(ORDER, ORDER_STATUS, PAYMENT, STOCK);
+
+    private record AdminEvent(String type, String id, Object data) {
+    }
+
+    private static final AdminEvent HEARTBEAT = new AdminEvent(null, null, null);
+
+    private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender;
+    private final Counter dropped;
+
+    @Value("${app.dashboard.stream-timeout:PT30M}")
+    private Duration streamTimeout;
+
+    @Value("${app.dashboard.stream.client-buffer:256}")
+    private int clientBuffer;
+
+    public AdminEventHub(MeterRegistry meterRegistry,
+            @Value("${app.dashboard.stream.sender-threads:2}") int senderThreads) {
+        AtomicInteger threadCount = new AtomicInteger();
+        this.sender = Executors.newFixedThreadPool(Math.max(1, senderThreads), r -> {
+            Thread t = new Thread(r, "admin-events-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.dropped = Counter.builder("admin.stream.dropped")
+                .description("Admin stream clients disconnected for falling behind")
+                .register(meterRegistry);
+        Gauge.builder("admin.stream.clients", clients, Set::size).register(meterRegistry);
+    }
+
+    public SseEmitter subscribe(Set<String> topics) {
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        Client client = new Client(emitter, topics, clientBuffer);
+        clients.add(client);
+        emitter.onCompletion(() -> clients.remove(client));
+        emitter.onTimeout(() -> clients.remove(client));
+        emitter.onError(ex -> clients.remove(client));
+        return emitter;
+    }
+
+    /** Queues an event for every subscribed client, after the current transaction commits if there is one. */
+    public void publish(String type, String id, Object data) {
+        if (clients.isEmpty()) {
+            return;
+        }
+        AdminEvent event = new AdminEvent(type, id, data);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            fanOut(event);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                fanOut(event);
+            }
+        });
+    }
+
+    // Keeps idle connections open through proxies and surfaces dead ones.
+    @Scheduled(fixedDelayString = "${app.dashboard.stream.heartbeat:PT15S}")
+    public void heartbeat() {
+        for (Client client : clients) {
+            client.offer(HEARTBEAT);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Client client : clients) {
+            client.emitter.complete();
+        }
+        clients.clear();
+        sender.shutdownNow();
+    }
+
+    private void fanOut(AdminEvent event) {
+        for (Client client : clients) {
+            if (client.topics.contains(event.type())) {
+                client.offer(event);
+            }
+        }
+    }
+
+    private final class Client {
+
+        private final SseEmitter emitter;
+        private final Set<String> topics;
+        private final BlockingQueue<AdminEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Client(SseEmitter emitter, Set<String> topics, int capacity) {
+            this.emitter = emitter;
+            this.topics = topics;
+            this.queue = new ArrayBlockingQueue<>(Math.max(1, capacity));
+        }
+
+        void offer(AdminEvent event) {
+            if (!queue.offer(event)) {
+                if (clients.remove(this)) {
+                    dropped.increment();
+                    log.debug("Disconnecting slow admin stream client");
+                    emitter.complete();
+                }
+                return;
+            }
+            schedule();
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                sender.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                AdminEvent event;
+                while ((event = queue.poll()) != null) {
+                    emitter.send(event == HEARTBEAT
+                            ? SseEmitter.event().comment("keepalive")
+                            : SseEmitter.event().name(event.type()).id(event.id()).data(event.data()));
+                }
+            } catch (IOException | IllegalStateException ex) {
+                clients.remove(this);
+                queue.clear();
+                return;
+            } finally {
+                draining.set(false);
+            }
+            if (!queue.isEmpty()) {
+                schedule();
+            }
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.oli.oli.service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+import com.oli.oli.model.OrderEvent;
+
+/**
+ * Forwards order status and payment transitions from the outbox to connected admin dashboards. Runs after
+ * {@link RecentOrdersFeed} so a new order is announced before its changes.
+ */
+@Service
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class AdminEventRelay implements OrderEventSubscriber {
+
+    public record OrderChange(String orderId, String previous, String current, BigDecimal total, Instant orderCreatedAt) {
+    }
+
+    private final AdminEventHub adminEventHub;
+
+    public AdminEventRelay(AdminEventHub adminEventHub) {
+        this.adminEventHub = adminEventHub;
+    }
+
+    @Override
+    public void onOrderEvents(List<OrderEvent> events) {
+        for (OrderEvent event : events) {
+            String topic = switch (event.getType()) {
+                case STATUS_CHANGED -> AdminEventHub.ORDER_STATUS;
+                case PAYMENT_STATUS_CHANGED -> AdminEventHub.PAYMENT;
+                default -> null;
+            };
+            if (topic != null) {
+                adminEventHub.publish(topic, String.valueOf(event.getId()), new OrderChange(event.getOrderId(),
+                        event.getPreviousValue(), event.getNewValue(), event.getOrderTotal(), event.getOrderCreatedAt()));
+            }
+        }
+    }
+}
@@ -0,0 +1,383 @@
+package com.oli.oli.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.sql.DataSource;
+
+import org.hibernate.Cache;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Keeps the second-level cache coherent across instances over PostgreSQL LISTEN/NOTIFY. Committed writes to
+ * cached entities are collected as {@code entity:id} keys and, once per coalescing window, sent as a single
+ * notification; every other instance evicts those entries and its query cache. One thread owns a dedicated
+ * connection for both directions. Notifications missed while that connection is down cannot be replayed,
+ * so every reconnect clears the whole cache. {@link CacheInvalidationSubscriber}s get the same treatment for
+ * their own caches, and writes to the entities they watch are published even when those are not cached.
+ */
+@Service
+public class CacheInvalidationBus implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationBus.class);
+
+    private static final String ALL = "*";
+    // NOTIFY payloads must stay under 8000 bytes.
+    private static final int MAX_PAYLOAD = 7000;
+
+    private final SessionFactoryImplementor sessionFactory;
+    private final DataSource listenDataSource;
+    private final ObjectProvider<CacheInvalidationSubscriber> subscribers;
+    private final boolean enabled;
+    private final String origin = UUID.randomUUID().toString().substring(0, 8);
+    private final Map<String, Set<String>> pending = new ConcurrentHashMap<>();
+    private final Counter published;
+    private final Counter received;
+    private volatile Set<Class<?>> watched;
+    private volatile boolean running;
+    private Thread worker;
+
+    @Value("${app.cache.invalidation.channel:cache_invalidation}")
+    private String channel;
+
+    @Value("${app.cache.invalidation.coalesce-window:PT0.2S}")
+    private Duration coalesceWindow;
+
+    @Value("${app.cache.invalidation.max-ids:100}")
+    private int maxIds;
+
+    public CacheInvalidationBus(EntityManagerFactory entityManagerFactory, DataSourceProperties dataSourceProperties,
+            ObjectProvider<CacheInvalidationSubscriber> subscribers, MeterRegistry meterRegistry,
+            @Value("${app.cache.invalidation.enabled:true}") boolean enabled) {
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.listenDataSource = dataSourceProperties.initializeDataSourceBuilder().type(SimpleDriverDataSource.class)
+                .build();
+        this.subscribers = subscribers;
+        this.enabled = enabled && dataSourceProperties.determineUrl().startsWith("jdbc:postgresql:");
+        this.published = Counter.builder("cache.invalidation.published").register(meterRegistry);
+        this.received = Counter.builder("cache.invalidation.received").register(meterRegistry);
+        if (this.enabled) {
+            EventListenerRegistry listeners = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
+            listeners.appendListeners(EventType.POST_COMMIT_INSERT, this);
+            listeners.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+            listeners.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::run, "cache-invalidation");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * Tells the other instances that any row of {@code entityClass} may have changed, once the current
+     * transaction commits; for bulk updates, which Hibernate does not report.
+     */
+    public void invalidateAll(Class<?> entityClass) {
+        if (!enabled) {
+            return;
+        }
+        String entityName = sessionFactory.getMappingMetamodel().getEntityDescriptor(entityClass).getEntityName();
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            enqueue(entityName, Set.of(ALL));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                enqueue(entityName, Set.of(ALL));
+            }
+        });
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return persister.canWriteToCache() || watched().contains(persister.getMappedClass());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        invalidate(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        invalidate(event.getPersister(), event.getId());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        invalidate(event.getPersister(), event.getId());
+    }
+
+    // A failed commit changed nothing, so there is nothing to tell the other instances.
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    void invalidate(EntityPersister persister, Object id) {
+        enqueue(persister.getEntityName(), Set.of(String.valueOf(id)));
+    }
+
+    // Sets are only changed inside compute, so flush can take one out of the map and read it safely.
+    // A burst of more than max-ids writes to one entity collapses into a single whole-region eviction.
+    private void enqueue(String entityName, Set<String> ids) {
+        pending.compute(entityName, (name, queued) -> {
+            Set<String> keys = queued == null ? new HashSet<>() : queued;
+            for (String id : ids) {
+                if (keys.contains(ALL)) {
+                    break;
+                }
+                if (id.equals(ALL) || keys.size() >= maxIds) {
+                    keys.clear();
+                    keys.add(ALL);
+                } else {
+                    keys.add(id);
+                }
+            }
+            return keys;
+        });
+    }
+
+    private void run() {
+        Connection connection = null;
+        while (running) {
+            try {
+                if (connection == null) {
+                    connection = listen();
+                }
+                PGNotification[] notifications = connection.unwrap(PGConnection.class)
+                        .getNotifications((int) coalesceWindow.toMillis());
+                apply(notifications);
+                flush(connection);
+            } catch (SQLException ex) {
+                if (running) {
+                    log.warn("Cache invalidation connection failed, reconnecting: {}", ex.getMessage());
+                }
+                close(connection);
+                connection = null;
+                sleep(Duration.ofSeconds(5));
+            }
+        }
+        close(connection);
+    }
+
+    private Connection listen() throws SQLException {
+        Connection connection = listenDataSource.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("LISTEN " + channel);
+        }
+        // Anything published while we were not listening is lost; start from an empty cache.
+        sessionFactory.getCache().evictAllRegions();
+        notifySubscribers(Set.of(), true);
+        log.info("Listening for cache invalidations on '{}' as {}", channel, origin);
+        return connection;
+    }
+
+    private void apply(PGNotification[] notifications) {
+        if (notifications == null || notifications.length == 0) {
+            return;
+        }
+        Map<String, Set<String>> keys = new HashMap<>();
+        for (PGNotification notification : notifications) {
+            String payload = notification.getParameter();
+            int separator = payload.indexOf(';');
+            if (separator < 0 || payload.substring(0, separator).equals(origin)) {
+                continue;
+            }
+            received.increment();
+            for (String key : payload.substring(separator + 1).split(",")) {
+                int colon = key.lastIndexOf(':');
+                if (colon > 0) {
+                    keys.computeIfAbsent(key.substring(0, colon), k -> new HashSet<>()).add(key.substring(colon + 1));
+                }
+            }
+        }
+        if (keys.isEmpty()) {
+            return;
+        }
+        Cache cache = sessionFactory.getCache();
+        keys.forEach((entityName, ids) -> evict(cache, entityName, ids));
+        cache.evictDefaultQueryRegion();
+
+        Set<Class<?>> written = new HashSet<>();
+        for (String entityName : keys.keySet()) {
+            EntityPersister persister = sessionFactory.getMappingMetamodel().findEntityDescriptor(entityName);
+            if (persister != null) {
+                written.add(persister.getMappedClass());
+            }
+        }
+        notifySubscribers(written, false);
+    }
+
+    private void notifySubscribers(Set<Class<?>> written, boolean all) {
+        subscribers.orderedStream().forEach(subscriber -> {
+            if (!all && subscriber.invalidatedBy().stream().noneMatch(written::contains)) {
+                return;
+            }
+            try {
+                subscriber.onRemoteInvalidation();
+            } catch (RuntimeException ex) {
+                log.warn("Cache invalidation subscriber {} failed", subscriber.getClass().getSimpleName(), ex);
+            }
+        });
+    }
+
+    // Resolved on first use: subscribers may depend on this bus, so they cannot be looked up while it is built.
+    private Set<Class<?>> watched() {
+        Set<Class<?>> w = watched;
+        if (w == null) {
+            w = new HashSet<>();
+            for (CacheInvalidationSubscriber subscriber : subscribers.orderedStream().toList()) {
+                w.addAll(subscriber.invalidatedBy());
+            }
+            watched = w;
+        }
+        return w;
+    }
+
+    private void evict(Cache cache, String entityName, Set<String> ids) {
+        EntityPersister persister = sessionFactory.getMappingMetamodel().findEntityDescriptor(entityName);
+        if (persister == null || !persister.canWriteToCache()) {
+            return;
+        }
+        Class<?> idType = persister.getIdentifierType().getReturnedClass();
+        if (ids.contains(ALL) || (idType != Long.class && idType != Integer.class && idType != String.class)) {
+            cache.evictEntityData(entityName);
+            return;
+        }
+        for (String id : ids) {
+            cache.evictEntityData(entityName, idType == Long.class ? Long.valueOf(id)
+                    : idType == Integer.class ? (Object) Integer.valueOf(id) : id);
+        }
+    }
+
+    void flush(Connection connection) throws SQLException {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<String, Set<String>> taken = new HashMap<>();
+        List<String> keys = new ArrayList<>();
+        for (String entityName : List.copyOf(pending.keySet())) {
+            Set<String> ids = pending.remove(entityName);
+            if (ids != null) {
+                taken.put(entityName, ids);
+                ids.forEach(id -> keys.add(entityName + ":" + id));
+            }
+        }
+        try {
+            for (String payload : payloads(keys)) {
+                try (PreparedStatement statement = connection.prepareStatement("SELECT pg_notify(?, ?)")) {
+                    statement.setString(1, channel);
+                    statement.setString(2, payload);
+                    statement.execute();
+                }
+                published.increment();
+            }
+        } catch (SQLException ex) {
+            // The other instances still hold these entries; send them again once reconnected. Payloads that did go
+            // out are sent twice, which only repeats an eviction.
+            taken.forEach(this::enqueue);
+            throw ex;
+        }
+    }
+
+    List<String> payloads(List<String> keys) {
+        List<String> payloads = new ArrayList<>();
+        StringBuilder payload = new StringBuilder(origin).append(';');
+        int empty = payload.length();
+        for (String key : keys) {
+            if (payload.length() > empty && payload.length() + key.length() + 1 > MAX_PAYLOAD) {
+                payloads.add(payload.toString());
+                payload.setLength(empty);
+            }
+            if (payload.length() > empty) {
+                payload.append(',');
+            }
+            payload.append(key);
+        }
+        if (payload.length() > empty) {
+            payloads.add(payload.toString());
+        }
+        return payloads;
+    }
+
+    private static void close(Connection connection) {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+                // Already broken.
+            }
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration.toMillis());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.oli.oli.service;
+
+import java.util.Set;
+
+/**
+ * A cache kept outside Hibernate's second-level cache that {@link CacheInvalidationBus} keeps coherent
+ * across instances. It is called on the bus thread when another instance commits a write to one of
+ * {@link #invalidatedBy()}, and after every reconnect of the bus, since notifications may have been missed.
+ */
+public interface CacheInvalidationSubscriber {
+
+    Set<Class<?>> invalidatedBy();
+
+    void onRemoteInvalidation();
+}
@@ -0,0 +1,121 @@
+package com.oli.oli.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.InvalidKeyException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Map;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+@Service
+public class CashfreeClient {
+
+    private final RestTemplate restTemplate;
+
+    @Value("${cashfree.api.url:${CASHFREE_BASE_URL:sandbox}}")
+    private String cashfreeBase;
+
+    @Value("${cashfree.app.id:${CASHFREE_APP_ID:}}")
+    private String clientId;
+
+    @Value("${cashfree.secret.key:${CASHFREE_SECRET_KEY:}}")
+    private String clientSecret;
+
+    @Value("${cashfree.api.version:2023-08-01}")
+    private String apiVersion;
+
+    @Value("${cashfree.webhook.url:}")
+    private String webhookUrl;
+
+    private final ThreadLocal<Mac> webhookMac = ThreadLocal.withInitial(this::newWebhookMac);
+
+    public CashfreeClient(RestTemplate restTemplate) {
+        this.restTemplate = restTemplate;
+    }
+
+    public String getClientId() {
+        return clientId;
+    }
+
+    public String getClientSecret() {
+        return clientSecret;
+    }
+
+    public String getWebhookUrl() {
+        return webhookUrl;
+    }
+
+    public ResponseEntity<Map> createOrder(Map<String, Object> payload) {
+        HttpHeaders headers = headers();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        return restTemplate.postForEntity(baseUrl() + "/orders", new HttpEntity<>(payload, headers), Map.class);
+    }
+
+    public ResponseEntity<Map> getOrder(String orderId) {
+        return restTemplate.exchange(baseUrl() + "/orders/" + orderId, HttpMethod.GET, new HttpEntity<>(headers()), Map.class);
+    }
+
+    // Cashfree signs webhooks as base64(HMAC-SHA256(timestamp + rawBody, clientSecret)).
+    public boolean verifyWebhookSignature(String timestamp, String rawBody, String signature) {
+        if (timestamp == null || rawBody == null || signature == null || clientSecret == null || clientSecret.isBlank()) {
+            return false;
+        }
+        Mac mac = webhookMac.get();
+        mac.update(timestamp.getBytes(StandardCharsets.UTF_8));
+        byte[] expected = mac.doFinal(rawBody.getBytes(StandardCharsets.UTF_8));
+        byte[] provided;
+        try {
+            provided = Base64.getDecoder().decode(signature.trim());
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected, provided);
+    }
+
+    private Mac newWebhookMac() {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(clientSecret.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+            return mac;
+        } catch (NoSuchAlgorithmException | InvalidKeyException ex) {
+            throw new IllegalStateException("Failed to initialise Cashfree webhook verifier", ex);
+        }
+    }
+
+    private HttpHeaders headers() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("x-client-id", clientId);
+        headers.set("x-client-secret", clientSecret);
+        headers.set("x-api-version", apiVersion);
+        return headers;
+    }
+
+    private String baseUrl() {
+        if (cashfreeBase == null || cashfreeBase.isBlank()) {
+            return "https://sandbox.cashfree.com/pg";
+        }
+        String v = cashfreeBase.trim();
+        if (v.equalsIgnoreCase("sandbox")) {
+            return "https://sandbox.cashfree.com/pg";
+        }
+        if (v.equalsIgnoreCase("production") || v.equalsIgnoreCase("prod")) {
+            return "https://api.cashfree.com/pg";
+        }
+        if (v.endsWith("/")) {
+            return v.substring(0, v.length() - 1);
+        }
+        return v;
+    }
+}
@@ -0,0 +1,133 @@
+package com.oli.oli.service;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Short-lived cache in front of Cashfree's order lookup. Concurrent pollers for the same order share one
+ * in-flight upstream call, and orders in a terminal state are kept much longer than pending ones. Once
+ * {@code app.payments.status-cache.max-entries} is reached, Caffeine evicts the entries least likely to be
+ * read again.
+ */
+@Service
+public class CashfreeOrderStatusCache {
+
+    private static final Set<String> TERMINAL_STATUSES = Set.of("PAID", "EXPIRED", "TERMINATED");
+    private static final String CACHE_NAME = "cashfreeOrderStatus";
+
+    public record CachedOrder(int status, Object body) {
+    }
+
+    private record Entry(CachedOrder order, Duration ttl) {
+    }
+
+    private final CashfreeClient cashfreeClient;
+    private final Cache<String, Entry> entries;
+    private final Map<String, CompletableFuture<CachedOrder>> inFlight = new ConcurrentHashMap<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+
+    @Value("${app.payments.status-cache.ttl:PT3S}")
+    private Duration ttl;
+
+    @Value("${app.payments.status-cache.terminal-ttl:PT1H}")
+    private Duration terminalTtl;
+
+    public CashfreeOrderStatusCache(CashfreeClient cashfreeClient, MeterRegistry meterRegistry,
+            @Value("${app.payments.status-cache.max-entries:10000}") int maxEntries) {
+        this.cashfreeClient = cashfreeClient;
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfter(new Expiry<String, Entry>() {
+                    @Override
+                    public long expireAfterCreate(String orderId, Entry entry, long currentTime) {
+                        return entry.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String orderId, Entry entry, long currentTime,
+                            long currentDuration) {
+                        return entry.ttl().toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String orderId, Entry entry, long currentTime,
+                            long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.hits = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss").register(meterRegistry);
+        this.coalesced = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "coalesced").register(meterRegistry);
+        Gauge.builder("cache.size", entries, Cache::estimatedSize).tag("cache", CACHE_NAME).register(meterRegistry);
+    }
+
+    public CachedOrder get(String orderId) {
+        Entry entry = entries.getIfPresent(orderId);
+        if (entry != null) {
+            hits.increment();
+            return entry.order();
+        }
+
+        CompletableFuture<CachedOrder> mine = new CompletableFuture<>();
+        CompletableFuture<CachedOrder> existing = inFlight.putIfAbsent(orderId, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return join(existing);
+        }
+        misses.increment();
+
+        try {
+            ResponseEntity<Map> resp = cashfreeClient.getOrder(orderId);
+            CachedOrder order = new CachedOrder(resp.getStatusCode().value(), resp.getBody());
+            entries.put(orderId, new Entry(order, isTerminal(resp.getBody()) ? terminalTtl : ttl));
+            mine.complete(order);
+            return order;
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(orderId, mine);
+        }
+    }
+
+    public void evict(String orderId) {
+        if (orderId != null) {
+            entries.invalidate(orderId);
+        }
+    }
+
+    private static boolean isTerminal(Map body) {
+        Object status = body == null ? null : body.get("order_status");
+        return status != null && TERMINAL_STATUSES.contains(String.valueOf(status).toUpperCase());
+    }
+
+    private static CachedOrder join(CompletableFuture<CachedOrder> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.oli.oli.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.oli.oli.model.DailySales;
+import com.oli.oli.model.OrderEvent;
+import com.oli.oli.model.OrderEventType;
+import com.oli.oli.repository.DailySalesRepository;
+import com.oli.oli.repository.OrderRepository;
+
+/**
+ * Keeps {@code daily_sales} in step with orders. Payment transitions arriving from the outbox mark the
+ * order's day dirty, and each dirty day is recomputed from {@code orders} under a row lock, so replayed
+ * or reordered events cannot drift the totals.
+ */
+@Service
+public class DailySalesService implements OrderEventSubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(DailySalesService.class);
+
+    private final DailySalesRepository dailySalesRepository;
+    private final OrderRepository orderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final JobRunner jobRunner;
+
+    @Value("${app.daily-sales.reconcile-days:7}")
+    private int reconcileDays;
+
+    public DailySalesService(DailySalesRepository dailySalesRepository, OrderRepository orderRepository,
+            PlatformTransactionManager transactionManager, JobRunner jobRunner) {
+        this.dailySalesRepository = dailySalesRepository;
+        this.orderRepository = orderRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobRunner = jobRunner;
+    }
+
+    @Override
+    public void onOrderEvents(List<OrderEvent> events) {
+        Set<LocalDate> days = new TreeSet<>();
+        for (OrderEvent event : events) {
+            if (event.getType() != OrderEventType.PAYMENT_STATUS_CHANGED || event.getOrderCreatedAt() == null) {
+                continue;
+            }
+            if (isPaid(event.getPreviousValue()) != isPaid(event.getNewValue())) {
+                days.add(utcDay(event.getOrderCreatedAt()));
+            }
+        }
+        if (!days.isEmpty()) {
+            refresh(days);
+        }
+    }
+
+    public List<DailySales> findRange(LocalDate from, LocalDate to) {
+        return dailySalesRepository.findByDateBetweenOrderByDate(from, to);
+    }
+
+    /**
+     * Recomputes every day in {@code [from, to]} from the orders table, one calendar month per transaction so
+     * a range of years neither holds its row locks until the end nor runs into the primary pool's statement
+     * timeout. Months already rebuilt stay committed if a later one fails.
+     */
+    public int rebuild(LocalDate from, LocalDate to) {
+        int rebuilt = 0;
+        for (LocalDate start = from; !start.isAfter(to); ) {
+            LocalDate monthEnd = start.withDayOfMonth(start.lengthOfMonth());
+            LocalDate end = monthEnd.isBefore(to) ? monthEnd : to;
+            rebuilt += rebuildChunk(start, end);
+            start = end.plusDays(1);
+        }
+        log.info("Rebuilt daily sales for {} days ({} to {})", rebuilt, from, to);
+        return rebuilt;
+    }
+
+    // Safety net for events lost before they reached the outbox: recomputes the most recent days nightly.
+    @Scheduled(cron = "${app.daily-sales.reconcile-cron:0 0 3 * * *}")
+    public void reconcileRecent() {
+        jobRunner.run("daily-sales-reconcile", Duration.ofDays(1), () -> {
+            LocalDate today = LocalDate.now(ZoneOffset.UTC);
+            rebuild(today.minusDays(Math.max(1, reconcileDays) - 1), today);
+        });
+    }
+
+    // Seeds the table on the first start after it is introduced; later starts find it populated. Runs as a job
+    // so instances starting together do not backfill the same months side by side.
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        jobRunner.run("daily-sales-backfill", Duration.ofMinutes(10), () -> {
+            try {
+                if (dailySalesRepository.count() > 0) {
+                    return;
+                }
+                orderRepository.findFirstCreatedAt()
+                        .ifPresent(first -> rebuild(utcDay(first), LocalDate.now(ZoneOffset.UTC)));
+            } catch (DataAccessException ex) {
+                // A day's row was written concurrently by the outbox; the nightly reconcile or a manual rebuild
+                // covers whatever the backfill did not reach.
+                log.warn("Daily sales backfill stopped: {}", ex.getMessage());
+            }
+        });
+    }
+
+    private int rebuildChunk(LocalDate from, LocalDate to) {
+        Integer rebuilt = transactionTemplate.execute(status -> {
+            Map<LocalDate, DailySales> existing = new HashMap<>();
+            for (DailySales row : dailySalesRepository.lockRange(from, to)) {
+                existing.put(row.getDate(), row);
+            }
+            Map<LocalDate, Object[]> totals = totalsByDay(from, to.plusDays(1));
+            int count = 0;
+            for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+                apply(day, existing.get(day), totals.get(day));
+                count++;
+            }
+            return count;
+        });
+        return rebuilt == null ? 0 : rebuilt;
+    }
+
+    private void refresh(Collection<LocalDate> days) {
+        Map<LocalDate, DailySales> existing = new HashMap<>();
+        for (DailySales row : dailySalesRepository.lockAll(days)) {
+            existing.put(row.getDate(), row);
+        }
+        for (LocalDate day : days) {
+            apply(day, existing.get(day), totalsByDay(day, day.plusDays(1)).get(day));
+        }
+    }
+
+    private void apply(LocalDate day, DailySales row, Object[] totals) {
+        if (row == null) {
+            if (totals == null) {
+                return;
+            }
+            row = new DailySales();
+            row.setDate(day);
+        }
+        row.setPaidRevenue(totals == null ? BigDecimal.ZERO : toBigDecimal(totals[1]));
+        row.setPaidOrders(totals == null ? 0 : ((Number) totals[2]).longValue());
+        dailySalesRepository.save(row);
+    }
+
+    private Map<LocalDate, Object[]> totalsByDay(LocalDate from, LocalDate toExclusive) {
+        Map<LocalDate, Object[]> totals = new HashMap<>();
+        for (Object[] row : orderRepository.sumPaidByUtcDay(startOf(from), startOf(toExclusive))) {
+            totals.put(toLocalDate(row[0]), row);
+        }
+        return totals;
+    }
+
+    private static Instant startOf(LocalDate day) {
+        return day.atStartOfDay().toInstant(ZoneOffset.UTC);
+    }
+
+    private static LocalDate utcDay(Instant instant) {
+        return LocalDate.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof java.sql.Date date) {
+            return date.toLocalDate();
+        }
+        return (LocalDate) value;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value instanceof BigDecimal decimal) {
+            return decimal;
+        }
+        return new BigDecimal(value.toString());
+    }
+
+    private static boolean isPaid(String paymentStatus) {
+        if (paymentStatus == null) {
+            return false;
+        }
+        String v = paymentStatus.trim().toLowerCase();
+        return v.equals("paid") || v.equals("success") || v.equals("completed") || v.equals("captured");
+    }
+}
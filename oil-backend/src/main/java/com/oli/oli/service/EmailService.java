@@ -1,23 +1,39 @@
 package com.oli.oli.service;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 @Service
 public class EmailService {
 
+    private static final Logger log = LoggerFactory.getLogger(EmailService.class);
+
     @Value("${spring.mail.username:}")
     private String fromEmail;
 
     private final JavaMailSender mailSender;
+    private final MeterRegistry meterRegistry;
 
-    public EmailService(JavaMailSender mailSender) {
+    public EmailService(JavaMailSender mailSender, MeterRegistry meterRegistry) {
         this.mailSender = mailSender;
+        this.meterRegistry = meterRegistry;
     }
 
     public boolean sendPasswordResetEmail(String toEmail, String resetCode) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean sent = sendPasswordReset(toEmail, resetCode);
+        sample.stop(meterRegistry.timer("email.send", "outcome", sent ? "success" : "failure"));
+        return sent;
+    }
+
+    private boolean sendPasswordReset(String toEmail, String resetCode) {
         try {
             SimpleMailMessage message = new SimpleMailMessage();
             message.setFrom(fromEmail);
@@ -27,11 +43,10 @@ public class EmailService {
             
             mailSender.send(message);
             
-            System.out.println("Password reset email sent to: " + toEmail);
+            log.info("Password reset email sent to {}", toEmail);
             return true;
         } catch (Exception e) {
-            System.err.println("Error sending password reset email: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error sending password reset email", e);
             return false;
         }
     }
@@ -0,0 +1,154 @@
+package com.oli.oli.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes export rows straight to the response stream, one row at a time. Output is flushed every
+ * {@code flushEvery} rows so the client starts receiving data before the query has finished.
+ */
+abstract class ExportWriter {
+
+    private final int flushEvery;
+    private long rows;
+
+    protected ExportWriter(int flushEvery) {
+        this.flushEvery = flushEvery;
+    }
+
+    static ExportWriter create(ExportFormat format, OutputStream out, ObjectMapper objectMapper, int flushEvery)
+            throws IOException {
+        return switch (format) {
+            case CSV -> new Csv(out, flushEvery);
+            case NDJSON -> new Ndjson(out, objectMapper, flushEvery);
+        };
+    }
+
+    abstract void header(List<String> columns) throws IOException;
+
+    void row(Object[] values) throws IOException {
+        writeRow(values);
+        if (++rows % flushEvery == 0) {
+            flush();
+        }
+    }
+
+    long rows() {
+        return rows;
+    }
+
+    protected abstract void writeRow(Object[] values) throws IOException;
+
+    abstract void flush() throws IOException;
+
+    static Object normalize(Object value) {
+        if (value instanceof Timestamp ts) {
+            return ts.toInstant().toString();
+        }
+        if (value instanceof OffsetDateTime odt) {
+            return odt.toInstant().toString();
+        }
+        return value;
+    }
+
+    private static final class Csv extends ExportWriter {
+
+        private final Writer writer;
+
+        private Csv(OutputStream out, int flushEvery) {
+            super(flushEvery);
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+        }
+
+        @Override
+        void header(List<String> columns) throws IOException {
+            writeRow(columns.toArray());
+        }
+
+        @Override
+        protected void writeRow(Object[] values) throws IOException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                Object v = normalize(values[i]);
+                if (v == null) {
+                    continue;
+                }
+                if (v instanceof BigDecimal d) {
+                    writer.write(d.toPlainString());
+                } else if (v instanceof Number || v instanceof Boolean) {
+                    writer.write(v.toString());
+                } else {
+                    writer.write(escape(v.toString()));
+                }
+            }
+            writer.write("\r\n");
+        }
+
+        @Override
+        void flush() throws IOException {
+            writer.flush();
+        }
+
+        // Quotes per RFC 4180 and neutralises leading formula characters so spreadsheets do not evaluate them.
+        private static String escape(String v) {
+            if (!v.isEmpty() && "=+-@".indexOf(v.charAt(0)) >= 0) {
+                v = "'" + v;
+            }
+            boolean quote = v.indexOf(',') >= 0 || v.indexOf('"') >= 0 || v.indexOf('\n') >= 0 || v.indexOf('\r') >= 0;
+            if (!quote) {
+                return v;
+            }
+            return "\"" + v.replace("\"", "\"\"") + "\"";
+        }
+    }
+
+    private static final class Ndjson extends ExportWriter {
+
+        private final JsonGenerator generator;
+        private final OutputStream out;
+        private List<String> columns;
+
+        private Ndjson(OutputStream out, ObjectMapper objectMapper, int flushEvery) throws IOException {
+            super(flushEvery);
+            this.out = out;
+            this.generator = objectMapper.getFactory().createGenerator(out);
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        void header(List<String> columns) {
+            this.columns = columns;
+        }
+
+        @Override
+        protected void writeRow(Object[] values) throws IOException {
+            generator.writeStartObject();
+            for (int i = 0; i < values.length; i++) {
+                generator.writeFieldName(columns.get(i));
+                generator.writeObject(normalize(values[i]));
+            }
+            generator.writeEndObject();
+            generator.writeRaw('\n');
+        }
+
+        @Override
+        void flush() throws IOException {
+            generator.flush();
+            out.flush();
+        }
+    }
+}
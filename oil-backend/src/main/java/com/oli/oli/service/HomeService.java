@@ -0,0 +1,261 @@
+package com.oli.oli.service;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oli.oli.config.QueryCounter;
+import com.oli.oli.dto.CategoryDto;
+import com.oli.oli.dto.CertificateDto;
+import com.oli.oli.dto.HomeDto;
+import com.oli.oli.dto.ProductDto;
+import com.oli.oli.dto.SliderDto;
+import com.oli.oli.model.Category;
+import com.oli.oli.model.Certificate;
+import com.oli.oli.model.Product;
+import com.oli.oli.model.Slider;
+import com.oli.oli.repository.CategoryRepository;
+import com.oli.oli.repository.CertificateRepository;
+import com.oli.oli.repository.ProductRepository;
+import com.oli.oli.repository.SliderRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Builds the storefront homepage in one piece: its sections are loaded concurrently, and the serialized
+ * result is kept until a committed write to a product, category, slider or certificate clears it. Writes on
+ * other instances arrive through {@link CacheInvalidationBus}; {@code app.home.ttl} bounds how long they can
+ * be missed while the bus is down or off. Concurrent misses share one build.
+ */
+@Service
+public class HomeService implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener, CacheInvalidationSubscriber {
+
+    private static final Set<Class<?>> SECTION_ENTITIES = Set.of(Product.class, Category.class, Slider.class,
+            Certificate.class);
+    private static final String CACHE_NAME = "home";
+
+    public record Payload(byte[] body, String etag) {
+    }
+
+    private record Entry(Payload payload, long generation, long expiresAtNanos) {
+        boolean isFresh() {
+            return System.nanoTime() - expiresAtNanos < 0;
+        }
+    }
+
+    private final SliderRepository sliderRepository;
+    private final CategoryRepository categoryRepository;
+    private final CertificateRepository certificateRepository;
+    private final ProductRepository productRepository;
+    private final ObjectMapper objectMapper;
+    private final CacheInvalidationBus cacheInvalidationBus;
+    private final ExecutorService loader;
+    private final AtomicLong generation = new AtomicLong();
+    private final AtomicReference<CompletableFuture<Payload>> inFlight = new AtomicReference<>();
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+    private volatile Entry entry;
+
+    @Value("${app.home.ttl:PT1M}")
+    private Duration ttl;
+
+    @Value("${app.home.section-size:24}")
+    private int sectionSize;
+
+    public HomeService(SliderRepository sliderRepository, CategoryRepository categoryRepository,
+            CertificateRepository certificateRepository, ProductRepository productRepository,
+            ObjectMapper objectMapper, CacheInvalidationBus cacheInvalidationBus, EntityManagerFactory entityManagerFactory,
+            MeterRegistry meterRegistry, @Value("${app.home.loader-threads:4}") int loaderThreads) {
+        this.sliderRepository = sliderRepository;
+        this.categoryRepository = categoryRepository;
+        this.certificateRepository = certificateRepository;
+        this.productRepository = productRepository;
+        this.objectMapper = objectMapper;
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        AtomicInteger threadCount = new AtomicInteger();
+        this.loader = Executors.newFixedThreadPool(Math.max(1, loaderThreads), r -> {
+            Thread t = new Thread(r, "home-loader-" + threadCount.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        this.hits = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "miss").register(meterRegistry);
+        this.coalesced = Counter.builder("cache.gets").tag("cache", CACHE_NAME).tag("result", "coalesced").register(meterRegistry);
+
+        EventListenerRegistry listeners = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        listeners.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        listeners.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        listeners.appendListeners(EventType.POST_COMMIT_DELETE, this);
+    }
+
+    public Payload get() {
+        Entry current = entry;
+        if (current != null && current.generation() == generation.get() && current.isFresh()) {
+            hits.increment();
+            return current.payload();
+        }
+
+        CompletableFuture<Payload> mine = new CompletableFuture<>();
+        CompletableFuture<Payload> existing = inFlight.compareAndExchange(null, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return join(existing);
+        }
+        misses.increment();
+
+        try {
+            long built = generation.get();
+            Payload payload = build();
+            // A write that committed during the build may not be in it; serve it once but do not keep it.
+            if (generation.get() == built) {
+                entry = new Entry(payload, built, System.nanoTime() + ttl.toNanos());
+            }
+            mine.complete(payload);
+            return payload;
+        } catch (RuntimeException ex) {
+            mine.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.set(null);
+        }
+    }
+
+    /**
+     * Drops the cached homepage after the current transaction commits, here and on the other instances; for
+     * product writes Hibernate does not see, such as bulk stock updates.
+     */
+    public void invalidate() {
+        cacheInvalidationBus.invalidateAll(Product.class);
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            clear();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                clear();
+            }
+        });
+    }
+
+    @Override
+    public Set<Class<?>> invalidatedBy() {
+        return SECTION_ENTITIES;
+    }
+
+    @Override
+    public void onRemoteInvalidation() {
+        clear();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        loader.shutdownNow();
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return SECTION_ENTITIES.contains(persister.getMappedClass());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        clear();
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        clear();
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        clear();
+    }
+
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    private void clear() {
+        generation.incrementAndGet();
+        entry = null;
+    }
+
+    private Payload build() {
+        PageRequest section = PageRequest.of(0, Math.max(1, sectionSize));
+        CompletableFuture<List<SliderDto>> sliders = load(sliderRepository::findAllDtos);
+        CompletableFuture<List<CategoryDto>> categories = load(categoryRepository::findAllDtos);
+        CompletableFuture<List<CertificateDto>> certificates = load(
+                () -> certificateRepository.findAll().stream().map(CertificateDto::of).toList());
+        CompletableFuture<List<ProductDto>> featured = load(() -> productRepository.findFeaturedDtos(section));
+        CompletableFuture<List<ProductDto>> bestsellers = load(() -> productRepository.findBestsellerDtos(section));
+        CompletableFuture<List<ProductDto>> newLaunches = load(() -> productRepository.findNewLaunchDtos(section));
+
+        HomeDto home = new HomeDto(join(sliders), join(categories), join(certificates), join(featured),
+                join(bestsellers), join(newLaunches));
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(home);
+            return new Payload(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Homepage could not be serialized", ex);
+        }
+    }
+
+    // The request that triggered the build pays for its queries, so they count against its @QueryBudget.
+    private <T> CompletableFuture<List<T>> load(Supplier<List<T>> section) {
+        return CompletableFuture.supplyAsync(QueryCounter.propagate(section), loader);
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.oli.oli.service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Snowflake-style ids: 41 bits of milliseconds since 2024-01-01, 10 bits of node id and a 12-bit sequence,
+ * rendered as 13 Crockford base32 characters so string order matches time order. The clock and sequence
+ * live in one {@link AtomicLong} and advance with a CAS, so callers never block. If the wall clock steps
+ * back, or a millisecond's 4096 ids run out, the generator borrows the next millisecond instead of waiting.
+ */
+@Service
+public class IdGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(IdGenerator.class);
+
+    private static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final char[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ENCODED_LENGTH = 13;
+
+    private final long node;
+
+    // (millis since epoch << SEQUENCE_BITS) | sequence of the last id handed out
+    private final AtomicLong last = new AtomicLong();
+
+    // Wall clock in epoch milliseconds; tests swap it to step or rewind time.
+    private LongSupplier clock = System::currentTimeMillis;
+
+    public IdGenerator(@Value("${app.ids.node-id:-1}") long nodeId) {
+        if (nodeId > MAX_NODE) {
+            throw new IllegalStateException("app.ids.node-id must be between 0 and " + MAX_NODE);
+        }
+        this.node = nodeId >= 0 ? nodeId : derivedNodeId();
+    }
+
+    public String nextOrderId() {
+        return "ORD-" + encode(next());
+    }
+
+    public String nextPaymentReference() {
+        return "ORD_" + encode(next());
+    }
+
+    public long next() {
+        long now = (clock.getAsLong() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        while (true) {
+            long prev = last.get();
+            // Same millisecond, an older clock reading or an exhausted sequence all continue from prev.
+            long candidate = now > prev ? now : prev + 1;
+            if (last.compareAndSet(prev, candidate)) {
+                long millis = candidate >>> SEQUENCE_BITS;
+                return (millis << (NODE_BITS + SEQUENCE_BITS)) | (node << SEQUENCE_BITS) | (candidate & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    public long getNode() {
+        return node;
+    }
+
+    static String encode(long id) {
+        char[] out = new char[ENCODED_LENGTH];
+        for (int i = ENCODED_LENGTH - 1; i >= 0; i--) {
+            out[i] = ALPHABET[(int) (id & 31)];
+            id >>>= 5;
+        }
+        return new String(out);
+    }
+
+    private static long derivedNodeId() {
+        String host;
+        try {
+            host = InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            host = "unknown";
+        }
+        long derived = Math.floorMod((host + ":" + ProcessHandle.current().pid()).hashCode(), MAX_NODE + 1);
+        log.warn("app.ids.node-id is not set; using {} derived from host {}. Set it explicitly when running "
+                + "more than one instance.", derived, host);
+        return derived;
+    }
+}
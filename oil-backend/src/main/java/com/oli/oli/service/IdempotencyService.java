@@ -0,0 +1,170 @@
+package com.oli.oli.service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oli.oli.repository.IdempotencyKeyRepository;
+
+/**
+ * Stores the first response produced for an idempotency key and replays it for retries.
+ * The key is claimed with a pending row, committed before the guarded work starts, so a duplicate
+ * arriving on any instance finds it and gets a 409 instead of repeating the work; the response is
+ * written in the same transaction as the work. Requests for the same key within one instance are
+ * serialized on a striped lock, so a local retry waits and replays. A claim whose work failed is
+ * released, and one left by a crashed instance is taken over after {@code app.idempotency.pending-timeout}.
+ */
+@Service
+public class IdempotencyService {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyService.class);
+
+    private static final int MAX_KEY_LENGTH = 128;
+    private static final int STRIPES = 64;
+
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final JobRunner jobRunner;
+    private final ReentrantLock[] locks = new ReentrantLock[STRIPES];
+
+    @Value("${app.idempotency.ttl:PT24H}")
+    private Duration ttl;
+
+    @Value("${app.idempotency.purge-interval:PT1H}")
+    private Duration purgeInterval;
+
+    @Value("${app.idempotency.pending-timeout:PT2M}")
+    private Duration pendingTimeout;
+
+    public IdempotencyService(IdempotencyKeyRepository idempotencyKeyRepository,
+            PlatformTransactionManager transactionManager, ObjectMapper objectMapper, JobRunner jobRunner) {
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.jobRunner = jobRunner;
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new ReentrantLock();
+        }
+    }
+
+    public <T> T execute(String scope, String key, Object request, Class<T> responseType, Supplier<T> action) {
+        if (!StringUtils.hasText(key)) {
+            return transactionTemplate.execute(status -> action.get());
+        }
+        if (key.length() > MAX_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Idempotency-Key is too long");
+        }
+
+        String storageKey = scope + ":" + key;
+        String requestHash = hash(request);
+
+        ReentrantLock lock = locks[Math.floorMod(storageKey.hashCode(), STRIPES)];
+        lock.lock();
+        try {
+            Optional<T> replay = findReplay(storageKey, requestHash, responseType);
+            if (replay.isPresent()) {
+                return replay.get();
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    Instant now = Instant.now();
+                    idempotencyKeyRepository.deleteStale(storageKey, now, now.minus(pendingTimeout));
+                    idempotencyKeyRepository.insertPending(storageKey, requestHash, now, now.plus(ttl));
+                });
+            } catch (DataIntegrityViolationException ex) {
+                // Another instance claimed the key between our read and our insert.
+                return findReplay(storageKey, requestHash, responseType).orElseThrow(() -> inProgress());
+            }
+
+            try {
+                return transactionTemplate.execute(status -> {
+                    T result = action.get();
+                    idempotencyKeyRepository.complete(storageKey, toJson(result), Instant.now().plus(ttl));
+                    return result;
+                });
+            } catch (RuntimeException ex) {
+                // Nothing was committed, so the client may retry with the same key.
+                transactionTemplate.executeWithoutResult(status -> idempotencyKeyRepository.release(storageKey));
+                throw ex;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.purge-interval:PT1H}")
+    public void purgeExpired() {
+        jobRunner.run("idempotency-purge", purgeInterval, () -> {
+            Integer removed = transactionTemplate.execute(status -> idempotencyKeyRepository.deleteExpired(Instant.now()));
+            if (removed != null && removed > 0) {
+                log.info("Purged {} expired idempotency keys", removed);
+            }
+        });
+    }
+
+    private <T> Optional<T> findReplay(String storageKey, String requestHash, Class<T> responseType) {
+        Instant abandonedBefore = Instant.now().minus(pendingTimeout);
+        return idempotencyKeyRepository.findById(storageKey)
+                .filter(existing -> !existing.isExpired())
+                .filter(existing -> !existing.isPending() || existing.getCreatedAt().isAfter(abandonedBefore))
+                .map(existing -> {
+                    if (!existing.getRequestHash().equals(requestHash)) {
+                        throw new ResponseStatusException(HttpStatus.UNPROCESSABLE_ENTITY,
+                                "Idempotency-Key was already used for a different request");
+                    }
+                    if (existing.isPending()) {
+                        throw inProgress();
+                    }
+                    try {
+                        return objectMapper.readValue(existing.getResponseBody(), responseType);
+                    } catch (JsonProcessingException ex) {
+                        throw new IllegalStateException("Stored idempotent response is unreadable", ex);
+                    }
+                });
+    }
+
+    private static ResponseStatusException inProgress() {
+        return new ResponseStatusException(HttpStatus.CONFLICT,
+                "A request with this Idempotency-Key is still being processed");
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to serialize idempotent response", ex);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] bytes = objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(digest.digest(bytes));
+        } catch (NoSuchAlgorithmException | JsonProcessingException ex) {
+            throw new IllegalStateException("Failed to fingerprint request", ex);
+        }
+    }
+}
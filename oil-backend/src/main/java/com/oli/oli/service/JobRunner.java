@@ -0,0 +1,177 @@
+package com.oli.oli.service;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.oli.oli.model.JobRun;
+import com.oli.oli.repository.JobRunRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Runs scheduled jobs once across all instances. Every instance keeps its own schedule; on PostgreSQL a
+ * tick first takes the job's session advisory lock on a dedicated connection, so only one instance runs the
+ * job at a time and a crashed instance releases it with its connection. A tick is also skipped when a run
+ * that did not fail started within the last 90% of the job's interval, so N instances still run an interval
+ * job about once per interval. Each run is recorded in {@code job_runs}.
+ */
+@Service
+public class JobRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(JobRunner.class);
+
+    // First half of every job lock key, keeping job locks apart from any other advisory locks.
+    private static final int LOCK_CLASS = 0x4A4F42;
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final JobRunRepository jobRunRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final DataSource lockDataSource;
+    private final boolean postgres;
+    private final MeterRegistry meterRegistry;
+    private final String node = hostName();
+
+    @Value("${app.jobs.retention:P30D}")
+    private Duration retention;
+
+    public JobRunner(JobRunRepository jobRunRepository, PlatformTransactionManager transactionManager,
+            DataSourceProperties dataSourceProperties, MeterRegistry meterRegistry) {
+        this.jobRunRepository = jobRunRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.lockDataSource = dataSourceProperties.initializeDataSourceBuilder().type(SimpleDriverDataSource.class)
+                .build();
+        this.postgres = dataSourceProperties.determineUrl().startsWith("jdbc:postgresql:");
+        this.meterRegistry = meterRegistry;
+    }
+
+    /** Runs {@code task} as {@code job} unless another instance holds the job or ran it within {@code interval}. */
+    public void run(String job, Duration interval, Runnable task) {
+        if (!postgres) {
+            runLocked(job, interval, task);
+            return;
+        }
+        Connection lock = acquire(job);
+        if (lock == null) {
+            return;
+        }
+        try {
+            runLocked(job, interval, task);
+        } finally {
+            // Closing the session releases its advisory locks.
+            try {
+                lock.close();
+            } catch (SQLException ex) {
+                log.warn("Closing the lock connection of job {} failed: {}", job, ex.getMessage());
+            }
+        }
+    }
+
+    @Scheduled(cron = "${app.jobs.purge-cron:0 15 4 * * *}")
+    public void purgeRuns() {
+        run("job-runs-purge", Duration.ofDays(1), () -> {
+            Integer removed = transactionTemplate.execute(
+                    status -> jobRunRepository.deleteStartedBefore(Instant.now().minus(retention)));
+            if (removed != null && removed > 0) {
+                log.info("Purged {} job runs", removed);
+            }
+        });
+    }
+
+    private Connection acquire(String job) {
+        Connection connection = null;
+        try {
+            connection = lockDataSource.getConnection();
+            try (PreparedStatement ps = connection.prepareStatement("SELECT pg_try_advisory_lock(?, ?)")) {
+                ps.setInt(1, LOCK_CLASS);
+                ps.setInt(2, job.hashCode());
+                try (ResultSet rs = ps.executeQuery()) {
+                    if (rs.next() && rs.getBoolean(1)) {
+                        return connection;
+                    }
+                }
+            }
+            skipped(job, "locked");
+        } catch (SQLException ex) {
+            log.warn("Job {} skipped, its lock could not be taken: {}", job, ex.getMessage());
+            skipped(job, "unavailable");
+        }
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException ignored) {
+            }
+        }
+        return null;
+    }
+
+    private void runLocked(String job, Duration interval, Runnable task) {
+        Instant now = Instant.now();
+        // With the lock held, a RUNNING row can only belong to an instance that died mid-run.
+        transactionTemplate.execute(status -> jobRunRepository.abandonRunning(job, now));
+        Instant cutoff = now.minusMillis(interval.toMillis() * 9 / 10);
+        if (jobRunRepository.existsByJobNameAndStatusNotAndStartedAtAfter(job, JobRun.Status.FAILED, cutoff)) {
+            skipped(job, "recent");
+            return;
+        }
+
+        JobRun run = new JobRun();
+        run.setJobName(job);
+        run.setNode(node);
+        run.setStatus(JobRun.Status.RUNNING);
+        run.setStartedAt(now);
+        run = jobRunRepository.save(run);
+
+        long start = System.nanoTime();
+        try {
+            task.run();
+            run.setStatus(JobRun.Status.SUCCEEDED);
+        } catch (RuntimeException ex) {
+            log.error("Job {} failed", job, ex);
+            run.setStatus(JobRun.Status.FAILED);
+            String error = ex.toString();
+            run.setError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        }
+        long elapsed = System.nanoTime() - start;
+        run.setFinishedAt(Instant.now());
+        run.setDurationMs(TimeUnit.NANOSECONDS.toMillis(elapsed));
+        jobRunRepository.save(run);
+        Timer.builder("jobs.run")
+                .tag("job", job)
+                .tag("outcome", run.getStatus().name().toLowerCase())
+                .register(meterRegistry)
+                .record(elapsed, TimeUnit.NANOSECONDS);
+    }
+
+    private void skipped(String job, String reason) {
+        Counter.builder("jobs.skipped").tag("job", job).tag("reason", reason).register(meterRegistry).increment();
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException ex) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.oli.oli.service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oli.oli.dto.OrderSnapshotDto;
+import com.oli.oli.model.ArchivedOrder;
+import com.oli.oli.model.OrderEntity;
+import com.oli.oli.model.OrderItemEntity;
+import com.oli.oli.repository.ArchivedOrderRepository;
+import com.oli.oli.repository.OrderItemRepository;
+import com.oli.oli.repository.OrderRepository;
+
+/**
+ * Moves closed orders older than {@code app.orders.archive.after-months} out of {@code orders} and
+ * {@code order_items} into {@code orders_archive}, one compressed document per order. The live tables then
+ * only hold recent and open orders, so every query on them scans a bounded set of rows. On PostgreSQL the
+ * archive is partitioned by month and the partition for each archived month is created on first use. Reports
+ * and a customer's order list read the archive next to the live tables, so archiving changes neither.
+ */
+@Service
+public class OrderArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderArchiveService.class);
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+    private final OrderRepository orderRepository;
+    private final OrderItemRepository orderItemRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final JobRunner jobRunner;
+    private volatile Boolean partitioned;
+
+    @Value("${app.orders.archive.after-months:12}")
+    private int afterMonths;
+
+    @Value("${app.orders.archive.closed-statuses:delivered,cancelled,canceled,returned,refunded}")
+    private List<String> closedStatuses;
+
+    @Value("${app.orders.archive.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.orders.archive.max-batches:50}")
+    private int maxBatches;
+
+    public OrderArchiveService(OrderRepository orderRepository, OrderItemRepository orderItemRepository,
+            ArchivedOrderRepository archivedOrderRepository, JdbcTemplate jdbcTemplate, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager, JobRunner jobRunner) {
+        this.orderRepository = orderRepository;
+        this.orderItemRepository = orderItemRepository;
+        this.archivedOrderRepository = archivedOrderRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobRunner = jobRunner;
+    }
+
+    public Optional<OrderSnapshotDto> find(String orderId) {
+        return archivedOrderRepository.findById(orderId).map(a -> read(a.getDocument()));
+    }
+
+    /** Archived orders created at or after {@code since}, for reports that need their items. */
+    public List<OrderSnapshotDto> findCreatedSince(Instant since) {
+        return archivedOrderRepository.findByCreatedAtGreaterThanEqual(since).stream()
+                .map(a -> read(a.getDocument()))
+                .toList();
+    }
+
+    /** A customer's archived orders, newest first. */
+    public List<OrderSnapshotDto> findByCustomer(String email, Pageable pageable) {
+        return archivedOrderRepository.findByCustomerEmailIgnoreCaseOrderByCreatedAtDesc(email, pageable).stream()
+                .map(a -> read(a.getDocument()))
+                .toList();
+    }
+
+    @Scheduled(cron = "${app.orders.archive.cron:0 30 3 * * *}")
+    public void archiveClosedOrders() {
+        jobRunner.run("order-archive", Duration.ofDays(1), this::archiveDue);
+    }
+
+    private void archiveDue() {
+        Instant before = ZonedDateTime.now(ZoneOffset.UTC).minusMonths(afterMonths).toInstant();
+        int archived = 0;
+        for (int i = 0; i < maxBatches; i++) {
+            int n = archiveBatch(before);
+            archived += n;
+            if (n < batchSize) {
+                break;
+            }
+        }
+        if (archived > 0) {
+            log.info("Archived {} closed orders created before {}", archived, before);
+        }
+    }
+
+    /** Archives up to one batch of closed orders created before {@code before}; returns how many moved. */
+    public int archiveBatch(Instant before) {
+        List<String> statuses = closedStatuses.stream().map(s -> s.trim().toLowerCase(Locale.ROOT)).toList();
+        Integer moved = transactionTemplate.execute(status -> {
+            List<OrderEntity> orders = orderRepository.claimArchivable(before, statuses, PageRequest.of(0, batchSize));
+            if (orders.isEmpty()) {
+                return 0;
+            }
+            List<String> ids = orders.stream().map(OrderEntity::getId).toList();
+            Map<String, List<OrderItemEntity>> itemsByOrder = new HashMap<>();
+            for (OrderItemEntity item : orderItemRepository.findByOrder_IdIn(ids)) {
+                itemsByOrder.computeIfAbsent(item.getOrder().getId(), k -> new ArrayList<>()).add(item);
+            }
+
+            ensurePartitions(orders);
+            List<ArchivedOrder> archived = new ArrayList<>(orders.size());
+            for (OrderEntity o : orders) {
+                ArchivedOrder a = new ArchivedOrder();
+                a.setId(o.getId());
+                a.setCreatedAt(o.getCreatedAt());
+                a.setCustomerEmail(o.getCustomerEmail());
+                a.setStatus(o.getStatus());
+                a.setPaymentStatus(o.getPaymentStatus());
+                a.setTotal(o.getTotal());
+                a.setDocument(write(OrderSnapshotDto.of(o, itemsByOrder.getOrDefault(o.getId(), List.of()))));
+                archived.add(a);
+            }
+            archivedOrderRepository.saveAll(archived);
+            archivedOrderRepository.flush();
+
+            orderItemRepository.deleteByOrderIds(ids);
+            orderRepository.deleteAllByIdInBatch(ids);
+            return orders.size();
+        });
+        return moved == null ? 0 : moved;
+    }
+
+    private void ensurePartitions(List<OrderEntity> orders) {
+        if (!isPartitioned()) {
+            return;
+        }
+        Set<YearMonth> months = new TreeSet<>();
+        for (OrderEntity o : orders) {
+            months.add(YearMonth.from(o.getCreatedAt().atZone(ZoneOffset.UTC)));
+        }
+        // IF NOT EXISTS returns before touching the parent table, so existing months cost no lock.
+        for (YearMonth month : months) {
+            jdbcTemplate.execute("CREATE TABLE IF NOT EXISTS orders_archive_" + month.format(PARTITION_SUFFIX)
+                    + " PARTITION OF orders_archive FOR VALUES FROM ('" + month.atDay(1) + " 00:00:00+00') TO ('"
+                    + month.plusMonths(1).atDay(1) + " 00:00:00+00')");
+        }
+    }
+
+    private boolean isPartitioned() {
+        Boolean p = partitioned;
+        if (p == null) {
+            String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+            p = "PostgreSQL".equalsIgnoreCase(product);
+            partitioned = p;
+        }
+        return p;
+    }
+
+    private byte[] write(OrderSnapshotDto snapshot) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            objectMapper.writeValue(out, snapshot);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Failed to archive order " + snapshot.id(), ex);
+        }
+        return bytes.toByteArray();
+    }
+
+    OrderSnapshotDto read(byte[] document) {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(document))) {
+            return objectMapper.readValue(in, OrderSnapshotDto.class);
+        } catch (IOException ex) {
+            throw new IllegalStateException("Archived order is unreadable", ex);
+        }
+    }
+}
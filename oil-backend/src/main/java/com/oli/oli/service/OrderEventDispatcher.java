@@ -0,0 +1,208 @@
+package com.oli.oli.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.ClassUtils;
+
+import com.oli.oli.model.OrderEvent;
+import com.oli.oli.model.OrderEventFailure;
+import com.oli.oli.repository.OrderEventFailureRepository;
+import com.oli.oli.repository.OrderEventRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Delivers committed order events to every {@link OrderEventSubscriber}. A batch is claimed with SKIP LOCKED
+ * and each subscriber handles it in a transaction of its own, so a failing subscriber neither rolls back the
+ * others nor holds up the outbox. Its events are recorded in {@code order_event_failures} and redelivered to
+ * it one at a time with exponential backoff, which isolates the event it cannot handle; after
+ * {@code app.outbox.max-attempts} that event is parked for that subscriber.
+ */
+@Service
+public class OrderEventDispatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderEventDispatcher.class);
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final OrderEventRepository orderEventRepository;
+    private final OrderEventFailureRepository orderEventFailureRepository;
+    private final ObjectProvider<OrderEventSubscriber> subscribers;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate subscriberTransaction;
+    private final JobRunner jobRunner;
+    private final Counter parked;
+
+    @Value("${app.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.outbox.retention:P7D}")
+    private Duration retention;
+
+    @Value("${app.outbox.purge-interval:PT6H}")
+    private Duration purgeInterval;
+
+    @Value("${app.outbox.max-attempts:12}")
+    private int maxAttempts;
+
+    @Value("${app.outbox.retry-backoff:PT10S}")
+    private Duration retryBackoff;
+
+    @Value("${app.outbox.max-retry-backoff:PT1H}")
+    private Duration maxRetryBackoff;
+
+    public OrderEventDispatcher(OrderEventRepository orderEventRepository,
+            OrderEventFailureRepository orderEventFailureRepository, ObjectProvider<OrderEventSubscriber> subscribers,
+            PlatformTransactionManager transactionManager, JobRunner jobRunner, MeterRegistry meterRegistry) {
+        this.orderEventRepository = orderEventRepository;
+        this.orderEventFailureRepository = orderEventFailureRepository;
+        this.subscribers = subscribers;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.subscriberTransaction = new TransactionTemplate(transactionManager);
+        this.subscriberTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.jobRunner = jobRunner;
+        this.parked = Counter.builder("outbox.parked")
+                .description("Order events a subscriber gave up on after max-attempts")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT1S}")
+    public void dispatch() {
+        try {
+            Integer dispatched;
+            do {
+                dispatched = transactionTemplate.execute(status -> dispatchBatch());
+            } while (dispatched != null && dispatched >= batchSize);
+        } catch (RuntimeException ex) {
+            // The batch rolls back and is retried on the next tick.
+            log.error("Order event dispatch failed", ex);
+        }
+    }
+
+    private int dispatchBatch() {
+        List<OrderEvent> batch = orderEventRepository.claimUndispatched(PageRequest.of(0, batchSize));
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Instant now = Instant.now();
+        subscribers.orderedStream().forEach(subscriber -> {
+            try {
+                deliver(subscriber, batch);
+            } catch (RuntimeException ex) {
+                log.warn("Order event subscriber {} failed on events {}..{}, redelivering them one at a time: {}",
+                        name(subscriber), batch.get(0).getId(), batch.get(batch.size() - 1).getId(), ex.toString());
+                for (OrderEvent event : batch) {
+                    OrderEventFailure failure = new OrderEventFailure();
+                    failure.setEventId(event.getId());
+                    failure.setSubscriber(name(subscriber));
+                    recordAttempt(failure, ex, now);
+                    orderEventFailureRepository.save(failure);
+                }
+            }
+        });
+
+        for (OrderEvent event : batch) {
+            event.setDispatchedAt(now);
+        }
+        return batch.size();
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.retry-interval:PT10S}")
+    public void redeliverFailed() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> redeliverBatch());
+        } catch (RuntimeException ex) {
+            log.error("Order event redelivery failed", ex);
+        }
+    }
+
+    private void redeliverBatch() {
+        Instant now = Instant.now();
+        Map<String, OrderEventSubscriber> byName = subscribers.orderedStream()
+                .collect(Collectors.toMap(OrderEventDispatcher::name, Function.identity(), (a, b) -> a));
+        if (byName.isEmpty()) {
+            return;
+        }
+        List<OrderEventFailure> due = orderEventFailureRepository.claimDue(now, byName.keySet(),
+                PageRequest.of(0, batchSize));
+        if (due.isEmpty()) {
+            return;
+        }
+        Map<Long, OrderEvent> events = orderEventRepository
+                .findAllById(due.stream().map(OrderEventFailure::getEventId).distinct().toList()).stream()
+                .collect(Collectors.toMap(OrderEvent::getId, Function.identity()));
+
+        for (OrderEventFailure failure : due) {
+            OrderEvent event = events.get(failure.getEventId());
+            if (event == null) {
+                // Purged with the rest of the dispatched events.
+                orderEventFailureRepository.delete(failure);
+                continue;
+            }
+            try {
+                deliver(byName.get(failure.getSubscriber()), List.of(event));
+                orderEventFailureRepository.delete(failure);
+            } catch (RuntimeException ex) {
+                recordAttempt(failure, ex, now);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.purge-interval:PT6H}")
+    public void purgeDispatched() {
+        jobRunner.run("outbox-purge", purgeInterval, () -> {
+            Instant before = Instant.now().minus(retention);
+            Integer removed = transactionTemplate.execute(status -> {
+                orderEventFailureRepository.deleteStaleBefore(before);
+                return orderEventRepository.deleteDispatchedBefore(before);
+            });
+            if (removed != null && removed > 0) {
+                log.info("Purged {} dispatched order events", removed);
+            }
+        });
+    }
+
+    private void deliver(OrderEventSubscriber subscriber, List<OrderEvent> events) {
+        subscriberTransaction.executeWithoutResult(status -> subscriber.onOrderEvents(events));
+    }
+
+    private void recordAttempt(OrderEventFailure failure, RuntimeException ex, Instant now) {
+        String error = ex.toString();
+        failure.setAttempts(failure.getAttempts() + 1);
+        failure.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        failure.setNextAttemptAt(now.plus(backoff(failure.getAttempts())));
+        if (failure.getAttempts() >= maxAttempts) {
+            failure.setParkedAt(now);
+            parked.increment();
+            log.error("Parked order event {} for {} after {} attempts", failure.getEventId(), failure.getSubscriber(),
+                    failure.getAttempts(), ex);
+        }
+    }
+
+    // retry-backoff after the first failure, doubling with each attempt up to max-retry-backoff.
+    private Duration backoff(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : delay;
+    }
+
+    private static String name(OrderEventSubscriber subscriber) {
+        return ClassUtils.getUserClass(subscriber).getSimpleName();
+    }
+}
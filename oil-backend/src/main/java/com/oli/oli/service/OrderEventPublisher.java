@@ -0,0 +1,47 @@
+package com.oli.oli.service;
+
+import java.util.Objects;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.oli.oli.model.OrderEntity;
+import com.oli.oli.model.OrderEvent;
+import com.oli.oli.model.OrderEventType;
+import com.oli.oli.repository.OrderEventRepository;
+
+@Service
+public class OrderEventPublisher {
+
+    private final OrderEventRepository orderEventRepository;
+
+    public OrderEventPublisher(OrderEventRepository orderEventRepository) {
+        this.orderEventRepository = orderEventRepository;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void orderCreated(OrderEntity order) {
+        save(order, OrderEventType.CREATED, null, order.getStatus());
+        changed(order, OrderEventType.PAYMENT_STATUS_CHANGED, null, order.getPaymentStatus());
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void changed(OrderEntity order, OrderEventType type, String previousValue, String newValue) {
+        if (Objects.equals(previousValue, newValue)) {
+            return;
+        }
+        save(order, type, previousValue, newValue);
+    }
+
+    private void save(OrderEntity order, OrderEventType type, String previousValue, String newValue) {
+        OrderEvent event = new OrderEvent();
+        event.setOrderId(order.getId());
+        event.setType(type);
+        event.setPreviousValue(previousValue);
+        event.setNewValue(newValue);
+        event.setOrderTotal(order.getTotal());
+        event.setOrderCreatedAt(order.getCreatedAt());
+        orderEventRepository.save(event);
+    }
+}
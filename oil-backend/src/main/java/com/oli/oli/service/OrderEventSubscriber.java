@@ -0,0 +1,15 @@
+package com.oli.oli.service;
+
+import java.util.List;
+
+import com.oli.oli.model.OrderEvent;
+
+/**
+ * Receives committed order events from the outbox, normally in id order. Each call runs in a transaction of
+ * its own. If a call throws, its events are redelivered to this subscriber alone, one at a time and after
+ * later events, so handling must be idempotent and must not depend on seeing events strictly in order.
+ */
+public interface OrderEventSubscriber {
+
+    void onOrderEvents(List<OrderEvent> events);
+}
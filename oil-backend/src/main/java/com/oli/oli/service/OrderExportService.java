@@ -0,0 +1,288 @@
+package com.oli.oli.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.oli.oli.config.ReplicaRouting;
+import com.oli.oli.dto.OrderSnapshotDto;
+
+/**
+ * Streams orders, order items and report aggregates to an output stream. Rows are read through a
+ * forward-only cursor with a bounded fetch size inside a read-only transaction (PostgreSQL only
+ * honours the fetch size when auto-commit is off), so heap use does not grow with the export size.
+ * Each export is one query over {@code orders} and {@code orders_archive}, so archiving closed orders
+ * changes none of them; an archived order's details and items are decoded from its document.
+ */
+@Service
+public class OrderExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderExportService.class);
+
+    private static final String ORDERS_SQL = "SELECT o.id, o.created_at, o.updated_at, o.customer_name, o.customer_email,"
+            + " o.customer_phone, o.shipping_address, o.shipping_city, o.shipping_state, o.shipping_pincode,"
+            + " o.subtotal, o.shipping, o.total, o.payment_method, o.payment_status, o.cashfree_order_id,"
+            + " o.status, o.delivery_provider, o.tracking_id, o.tracking_url, CAST(NULL AS BYTEA) AS document"
+            + " FROM orders o WHERE " + range("o")
+            + " UNION ALL SELECT a.id, a.created_at, " + nulls(18) + ", a.document"
+            + " FROM orders_archive a WHERE " + range("a")
+            + " ORDER BY 2, 1";
+
+    private static final List<String> ORDERS_COLUMNS = List.of("id", "createdAt", "updatedAt", "customerName",
+            "customerEmail", "customerPhone", "shippingAddress", "shippingCity", "shippingState", "shippingPincode",
+            "subtotal", "shipping", "total", "paymentMethod", "paymentStatus", "cashfreeOrderId", "status",
+            "deliveryProvider", "trackingId", "trackingUrl");
+
+    private static final String ORDER_ITEMS_SQL = "SELECT oi.order_id, o.created_at, oi.product_id, oi.product_name,"
+            + " oi.variant, oi.quantity, oi.unit_price, o.payment_status, o.status, oi.id AS item_id,"
+            + " CAST(NULL AS BYTEA) AS document"
+            + " FROM order_items oi JOIN orders o ON o.id = oi.order_id WHERE " + range("o")
+            + " UNION ALL SELECT a.id, a.created_at, " + nulls(8) + ", a.document"
+            + " FROM orders_archive a WHERE " + range("a")
+            + " ORDER BY 2, 1, 10";
+
+    private static final List<String> ORDER_ITEMS_COLUMNS = List.of("orderId", "orderCreatedAt", "productId",
+            "productName", "variant", "quantity", "unitPrice", "paymentStatus", "status");
+
+    // Archived orders come back one row each and are counted here, since their delivery provider is in the document.
+    private static final String ORDERS_BREAKDOWN_SQL = "SELECT to_char(o.created_at AT TIME ZONE 'UTC', 'YYYY-MM') AS order_month,"
+            + " lower(trim(coalesce(o.status, ''))) AS status,"
+            + " lower(trim(coalesce(o.delivery_provider, ''))) AS delivery_provider,"
+            + " count(*) AS orders,"
+            + " sum(CASE WHEN " + paid("o") + " THEN o.total ELSE 0 END) AS paid_revenue,"
+            + " CAST(NULL AS BYTEA) AS document"
+            + " FROM orders o WHERE " + range("o")
+            + " GROUP BY 1, 2, 3"
+            + " UNION ALL SELECT to_char(a.created_at AT TIME ZONE 'UTC', 'YYYY-MM'), lower(trim(coalesce(a.status, ''))),"
+            + " NULL, 1, CASE WHEN " + paid("a") + " THEN a.total ELSE 0 END, a.document"
+            + " FROM orders_archive a WHERE " + range("a");
+
+    private static final List<String> ORDERS_BREAKDOWN_COLUMNS = List.of("month", "status", "deliveryProvider",
+            "orders", "paidRevenue");
+
+    private static final String TOP_PRODUCTS_SQL = "SELECT oi.product_id, oi.product_name,"
+            + " sum(oi.quantity) AS quantity, sum(oi.quantity * oi.unit_price) AS revenue,"
+            + " CAST(NULL AS BYTEA) AS document"
+            + " FROM order_items oi JOIN orders o ON o.id = oi.order_id"
+            + " WHERE " + range("o") + " AND " + paid("o")
+            + " GROUP BY oi.product_id, oi.product_name"
+            + " UNION ALL SELECT " + nulls(4) + ", a.document"
+            + " FROM orders_archive a WHERE " + range("a") + " AND " + paid("a");
+
+    private static final List<String> TOP_PRODUCTS_COLUMNS = List.of("productId", "name", "quantity", "revenue");
+
+    private static final Comparator<Object[]> BY_REVENUE = Comparator
+            .comparing((Object[] row) -> (BigDecimal) row[3], Comparator.nullsLast(Comparator.reverseOrder()))
+            .thenComparing(row -> (Long) row[0], Comparator.nullsLast(Comparator.naturalOrder()));
+
+    @FunctionalInterface
+    private interface RowHandler {
+        void handle(ResultSet rs) throws SQLException, IOException;
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final OrderArchiveService orderArchiveService;
+
+    @Value("${app.exports.flush-every:500}")
+    private int flushEvery;
+
+    public OrderExportService(DataSource dataSource, PlatformTransactionManager transactionManager,
+            ObjectMapper objectMapper, OrderArchiveService orderArchiveService,
+            @Value("${app.exports.fetch-size:1000}") int fetchSize) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.orderArchiveService = orderArchiveService;
+    }
+
+    public long exportOrders(ExportFormat format, Instant from, Instant to, OutputStream out) throws IOException {
+        ExportWriter writer = start(format, ORDERS_COLUMNS, out);
+        long started = System.nanoTime();
+        query(ORDERS_SQL, from, to, rs -> {
+            byte[] document = rs.getBytes("document");
+            writer.row(document == null ? columns(rs, ORDERS_COLUMNS.size()) : orderRow(orderArchiveService.read(document)));
+        });
+        return finish("orders", format, writer, started);
+    }
+
+    public long exportOrderItems(ExportFormat format, Instant from, Instant to, OutputStream out) throws IOException {
+        ExportWriter writer = start(format, ORDER_ITEMS_COLUMNS, out);
+        long started = System.nanoTime();
+        query(ORDER_ITEMS_SQL, from, to, rs -> {
+            byte[] document = rs.getBytes("document");
+            if (document == null) {
+                writer.row(columns(rs, ORDER_ITEMS_COLUMNS.size()));
+                return;
+            }
+            OrderSnapshotDto s = orderArchiveService.read(document);
+            for (OrderSnapshotDto.Item it : s.items() == null ? List.<OrderSnapshotDto.Item>of() : s.items()) {
+                writer.row(new Object[] { s.id(), s.createdAt(), it.productId(), it.productName(), it.variant(),
+                        it.quantity(), it.unitPrice(), s.paymentStatus(), s.status() });
+            }
+        });
+        return finish("order-items", format, writer, started);
+    }
+
+    public long exportOrdersBreakdown(ExportFormat format, Instant from, Instant to, OutputStream out) throws IOException {
+        ExportWriter writer = start(format, ORDERS_BREAKDOWN_COLUMNS, out);
+        long started = System.nanoTime();
+        // One entry per month, status and provider, so the map stays small however many orders are read.
+        Map<List<String>, Object[]> groups = new TreeMap<>(Comparator
+                .comparing((List<String> k) -> k.get(0))
+                .thenComparing(k -> k.get(1))
+                .thenComparing(k -> k.get(2)));
+        query(ORDERS_BREAKDOWN_SQL, from, to, rs -> {
+            byte[] document = rs.getBytes("document");
+            String provider = document == null ? rs.getString(3)
+                    : normalize(orderArchiveService.read(document).deliveryProvider());
+            List<String> key = List.of(rs.getString(1), rs.getString(2), provider);
+            Object[] row = groups.computeIfAbsent(key, k -> new Object[] { k.get(0), k.get(1), k.get(2), 0L, null });
+            row[3] = (Long) row[3] + rs.getLong(4);
+            row[4] = add((BigDecimal) row[4], rs.getBigDecimal(5));
+        });
+        for (Object[] row : groups.values()) {
+            writer.row(row);
+        }
+        return finish("orders-breakdown", format, writer, started);
+    }
+
+    public long exportTopProducts(ExportFormat format, Instant from, Instant to, OutputStream out) throws IOException {
+        ExportWriter writer = start(format, TOP_PRODUCTS_COLUMNS, out);
+        long started = System.nanoTime();
+        // One entry per product, so the map is bounded by the catalogue rather than the number of orders.
+        Map<List<Object>, Object[]> products = new HashMap<>();
+        query(TOP_PRODUCTS_SQL, from, to, rs -> {
+            byte[] document = rs.getBytes("document");
+            if (document == null) {
+                addProduct(products, rs.getObject(1, Long.class), rs.getString(2), rs.getLong(3), rs.getBigDecimal(4));
+                return;
+            }
+            OrderSnapshotDto s = orderArchiveService.read(document);
+            for (OrderSnapshotDto.Item it : s.items() == null ? List.<OrderSnapshotDto.Item>of() : s.items()) {
+                int quantity = it.quantity() == null ? 0 : it.quantity();
+                addProduct(products, it.productId(), it.productName(), quantity,
+                        it.unitPrice() == null ? null : it.unitPrice().multiply(BigDecimal.valueOf(quantity)));
+            }
+        });
+        List<Object[]> rows = new ArrayList<>(products.values());
+        rows.sort(BY_REVENUE);
+        for (Object[] row : rows) {
+            writer.row(row);
+        }
+        return finish("top-products", format, writer, started);
+    }
+
+    private ExportWriter start(ExportFormat format, List<String> columns, OutputStream out) throws IOException {
+        ExportWriter writer = ExportWriter.create(format, out, objectMapper, flushEvery);
+        writer.header(columns);
+        return writer;
+    }
+
+    private long finish(String name, ExportFormat format, ExportWriter writer, long started) throws IOException {
+        writer.flush();
+        log.info("Exported {} {} rows as {} in {} ms", writer.rows(), name, format,
+                (System.nanoTime() - started) / 1_000_000);
+        return writer.rows();
+    }
+
+    // Runs sql with from and to bound to each range in turn, handing every row to the handler as it is read.
+    private void query(String sql, Instant from, Instant to, RowHandler handler) throws IOException {
+        OffsetDateTime start = OffsetDateTime.ofInstant(from, ZoneOffset.UTC);
+        OffsetDateTime end = OffsetDateTime.ofInstant(to, ZoneOffset.UTC);
+        long parameters = sql.chars().filter(c -> c == '?').count();
+        try {
+            // Streams on the async request thread, outside the interceptor's scope, so opt in here.
+            ReplicaRouting.run(() -> transactionTemplate.executeWithoutResult(status -> jdbcTemplate.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                for (int i = 1; i <= parameters; i++) {
+                    ps.setObject(i, i % 2 == 1 ? start : end);
+                }
+                return ps;
+            }, rs -> {
+                try {
+                    handler.handle(rs);
+                } catch (IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            })));
+        } catch (UncheckedIOException ex) {
+            // Client went away mid-download; the cursor and transaction are already released.
+            throw ex.getCause();
+        }
+    }
+
+    private static Object[] columns(ResultSet rs, int count) throws SQLException {
+        Object[] row = new Object[count];
+        for (int i = 0; i < count; i++) {
+            row[i] = rs.getObject(i + 1);
+        }
+        return row;
+    }
+
+    private static Object[] orderRow(OrderSnapshotDto s) {
+        return new Object[] { s.id(), s.createdAt(), s.updatedAt(), s.customerName(), s.customerEmail(),
+                s.customerPhone(), s.shippingAddress(), s.shippingCity(), s.shippingState(), s.shippingPincode(),
+                s.subtotal(), s.shipping(), s.total(), s.paymentMethod(), s.paymentStatus(), s.cashfreeOrderId(),
+                s.status(), s.deliveryProvider(), s.trackingId(), s.trackingUrl() };
+    }
+
+    private static void addProduct(Map<List<Object>, Object[]> products, Long productId, String name, long quantity,
+            BigDecimal revenue) {
+        Object[] row = products.computeIfAbsent(Arrays.asList(productId, name),
+                k -> new Object[] { productId, name, 0L, null });
+        row[2] = (Long) row[2] + quantity;
+        row[3] = add((BigDecimal) row[3], revenue);
+    }
+
+    // Null-tolerant like SQL SUM: null only when every value was null.
+    private static BigDecimal add(BigDecimal a, BigDecimal b) {
+        return a == null ? b : b == null ? a : a.add(b);
+    }
+
+    private static String normalize(String v) {
+        return v == null ? "" : v.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static String paid(String alias) {
+        return "lower(trim(" + alias + ".payment_status)) IN ('paid', 'success', 'completed', 'captured')";
+    }
+
+    private static String range(String alias) {
+        return alias + ".created_at >= ? AND " + alias + ".created_at < ?";
+    }
+
+    private static String nulls(int count) {
+        return String.join(", ", Collections.nCopies(count, "NULL"));
+    }
+}
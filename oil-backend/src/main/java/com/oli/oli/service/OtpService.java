@@ -1,11 +1,19 @@
 package com.oli.oli.service;
 
 import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.oli.oli.model.Otp;
 import com.oli.oli.repository.OtpRepository;
@@ -13,17 +21,31 @@ import com.oli.oli.repository.OtpRepository;
 @Service
 public class OtpService {
 
+    private static final Logger log = LoggerFactory.getLogger(OtpService.class);
+
     private static final int OTP_LENGTH = 6;
     private static final SecureRandom random = new SecureRandom();
 
     private final OtpRepository otpRepository;
     private final SmsService smsService;
     private final EmailService emailService;
+    private final JobRunner jobRunner;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.otp.purge-interval:PT1H}")
+    private Duration purgeInterval;
+
+    // Expired codes are kept this long so a late verify still finds (and rejects) them.
+    @Value("${app.otp.retention:P1D}")
+    private Duration retention;
 
-    public OtpService(OtpRepository otpRepository, SmsService smsService, EmailService emailService) {
+    public OtpService(OtpRepository otpRepository, SmsService smsService, EmailService emailService,
+            JobRunner jobRunner, PlatformTransactionManager transactionManager) {
         this.otpRepository = otpRepository;
         this.smsService = smsService;
         this.emailService = emailService;
+        this.jobRunner = jobRunner;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
     }
 
     @Transactional
@@ -52,7 +74,7 @@ public class OtpService {
         if (!smsSent) {
             // If SMS failed, still return OTP for testing purposes
             // In production, you might want to throw an exception
-            System.err.println("Failed to send SMS for phone: " + cleanPhone);
+            log.warn("Failed to send SMS for phone: {}", cleanPhone);
         }
 
         return savedOtp;
@@ -124,7 +146,7 @@ public class OtpService {
         boolean emailSent = emailService.sendPasswordResetEmail(email, otpCode);
         
         if (!emailSent) {
-            System.err.println("Failed to send email for: " + email);
+            log.warn("Failed to send email for: {}", email);
         }
 
         return savedOtp;
@@ -158,6 +180,17 @@ public class OtpService {
         return true;
     }
 
+    @Scheduled(fixedDelayString = "${app.otp.purge-interval:PT1H}")
+    public void purgeExpired() {
+        jobRunner.run("otp-purge", purgeInterval, () -> {
+            Integer removed = transactionTemplate.execute(
+                    status -> otpRepository.deleteExpiredBefore(Instant.now().minus(retention)));
+            if (removed != null && removed > 0) {
+                log.info("Purged {} expired OTPs", removed);
+            }
+        });
+    }
+
     private String generateOtp() {
         StringBuilder otp = new StringBuilder(OTP_LENGTH);
         for (int i = 0; i < OTP_LENGTH; i++) {
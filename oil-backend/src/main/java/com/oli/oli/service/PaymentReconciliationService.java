@@ -0,0 +1,104 @@
+package com.oli.oli.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+
+import com.oli.oli.model.OrderEntity;
+import com.oli.oli.repository.OrderRepository;
+
+/**
+ * Periodically asks Cashfree for the status of recent orders that are still unpaid, to settle orders
+ * whose webhook never arrived. Request threads never poll Cashfree for this.
+ */
+@Service
+public class PaymentReconciliationService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentReconciliationService.class);
+
+    private final OrderRepository orderRepository;
+    private final CashfreeClient cashfreeClient;
+    private final PaymentStatusService paymentStatusService;
+    private final JobRunner jobRunner;
+
+    @Value("${app.payments.reconcile.interval:PT5M}")
+    private Duration interval;
+
+    @Value("${app.payments.reconcile.min-age:PT5M}")
+    private Duration minAge;
+
+    @Value("${app.payments.reconcile.max-age:PT48H}")
+    private Duration maxAge;
+
+    @Value("${app.payments.reconcile.batch-size:100}")
+    private int batchSize;
+
+    public PaymentReconciliationService(OrderRepository orderRepository, CashfreeClient cashfreeClient,
+            PaymentStatusService paymentStatusService, JobRunner jobRunner) {
+        this.orderRepository = orderRepository;
+        this.cashfreeClient = cashfreeClient;
+        this.paymentStatusService = paymentStatusService;
+        this.jobRunner = jobRunner;
+    }
+
+    @Scheduled(fixedDelayString = "${app.payments.reconcile.interval:PT5M}",
+            initialDelayString = "${app.payments.reconcile.interval:PT5M}")
+    public void reconcile() {
+        jobRunner.run("payment-reconcile", interval, this::reconcileUnsettled);
+    }
+
+    private void reconcileUnsettled() {
+        Instant now = Instant.now();
+        Instant to = now.minus(minAge);
+        // Abandoned checkouts stay ACTIVE at Cashfree and never leave the window early, so every sweep walks all
+        // of it; checking only the oldest page would starve newer orders once a page of abandoned ones piles up.
+        Instant afterCreatedAt = now.minus(maxAge);
+        String afterId = "";
+        int checked = 0;
+        int updated = 0;
+        List<OrderEntity> orders;
+        do {
+            orders = orderRepository.findUnsettledCashfreeOrders(afterCreatedAt, afterId, to,
+                    PageRequest.of(0, batchSize));
+            for (OrderEntity order : orders) {
+                if (reconcile(order)) {
+                    updated++;
+                }
+            }
+            checked += orders.size();
+            if (!orders.isEmpty()) {
+                OrderEntity last = orders.get(orders.size() - 1);
+                afterCreatedAt = last.getCreatedAt();
+                afterId = last.getId();
+            }
+        } while (orders.size() == batchSize);
+
+        if (checked > 0) {
+            log.info("Cashfree reconciliation checked {} orders, applied {}", checked, updated);
+        }
+    }
+
+    private boolean reconcile(OrderEntity order) {
+        try {
+            ResponseEntity<Map> resp = cashfreeClient.getOrder(order.getCashfreeOrderId());
+            Map body = resp.getBody();
+            Object orderStatus = body == null ? null : body.get("order_status");
+            String status = PaymentStatusService.fromOrderStatus(orderStatus == null ? null : String.valueOf(orderStatus));
+            return status != null && paymentStatusService.apply(order.getCashfreeOrderId(), status);
+        } catch (RestClientException ex) {
+            log.warn("Cashfree reconciliation failed for orderId={} cashfreeOrderId={}: {}",
+                    order.getId(), order.getCashfreeOrderId(), ex.getMessage());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.oli.oli.service;
+
+import java.util.Locale;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.oli.oli.model.OrderEntity;
+import com.oli.oli.model.OrderEventType;
+import com.oli.oli.repository.OrderRepository;
+
+@Service
+public class PaymentStatusService {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentStatusService.class);
+
+    private final OrderRepository orderRepository;
+    private final OrderEventPublisher orderEventPublisher;
+    private final CashfreeOrderStatusCache orderStatusCache;
+
+    public PaymentStatusService(OrderRepository orderRepository, OrderEventPublisher orderEventPublisher,
+            CashfreeOrderStatusCache orderStatusCache) {
+        this.orderRepository = orderRepository;
+        this.orderEventPublisher = orderEventPublisher;
+        this.orderStatusCache = orderStatusCache;
+    }
+
+    /**
+     * Applies a payment status reported by Cashfree to the order that carries the given Cashfree order id.
+     * Re-applying the same status is a no-op and a paid order is never moved back to an unpaid state.
+     *
+     * @return false if no order references the Cashfree order id yet
+     */
+    @Transactional
+    public boolean apply(String cashfreeOrderId, String paymentStatus) {
+        // Pollers should see the new state on their next request rather than after the cache TTL. Evicting
+        // after commit keeps a poll that lands mid-transaction from caching the state being replaced.
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                orderStatusCache.evict(cashfreeOrderId);
+            }
+        });
+
+        Optional<OrderEntity> found = orderRepository.findFirstByCashfreeOrderId(cashfreeOrderId);
+        if (found.isEmpty()) {
+            return false;
+        }
+
+        OrderEntity order = found.get();
+        String previous = order.getPaymentStatus();
+        if (paymentStatus == null || paymentStatus.equalsIgnoreCase(previous)) {
+            return true;
+        }
+        if (isPaid(previous) && !isPaid(paymentStatus)) {
+            log.warn("Ignoring payment status {} for already paid order {}", paymentStatus, order.getId());
+            return true;
+        }
+
+        order.setPaymentStatus(paymentStatus);
+        orderRepository.save(order);
+        orderEventPublisher.changed(order, OrderEventType.PAYMENT_STATUS_CHANGED, previous, paymentStatus);
+        log.info("Order {} payment status {} -> {}", order.getId(), previous, paymentStatus);
+        return true;
+    }
+
+    /** Maps a Cashfree payment_status (webhook) to the local payment status, or null if it carries no change. */
+    public static String fromPaymentStatus(String cashfreeStatus) {
+        if (cashfreeStatus == null) {
+            return null;
+        }
+        return switch (cashfreeStatus.trim().toUpperCase(Locale.ROOT)) {
+            case "SUCCESS" -> "paid";
+            case "FAILED", "CANCELLED" -> "failed";
+            default -> null;
+        };
+    }
+
+    /** Maps a Cashfree order_status (order API) to the local payment status, or null if it carries no change. */
+    public static String fromOrderStatus(String cashfreeStatus) {
+        if (cashfreeStatus == null) {
+            return null;
+        }
+        return switch (cashfreeStatus.trim().toUpperCase(Locale.ROOT)) {
+            case "PAID" -> "paid";
+            case "EXPIRED" -> "expired";
+            case "TERMINATED" -> "failed";
+            default -> null;
+        };
+    }
+
+    private static boolean isPaid(String paymentStatus) {
+        if (paymentStatus == null) {
+            return false;
+        }
+        String v = paymentStatus.trim().toLowerCase();
+        return v.equals("paid") || v.equals("success") || v.equals("completed") || v.equals("captured");
+    }
+}
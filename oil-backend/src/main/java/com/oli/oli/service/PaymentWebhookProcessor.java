@@ -0,0 +1,115 @@
+package com.oli.oli.service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.oli.oli.model.PaymentWebhookEvent;
+import com.oli.oli.repository.PaymentWebhookEventRepository;
+
+/**
+ * Applies stored Cashfree webhooks to their orders. A batch is claimed with SKIP LOCKED and each event is
+ * applied in a transaction of its own, so an event that fails rolls back only its own changes; it records
+ * the error and is retried with exponential backoff like one whose order does not exist yet.
+ */
+@Service
+public class PaymentWebhookProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(PaymentWebhookProcessor.class);
+
+    private static final int MAX_ERROR_LENGTH = 2000;
+
+    private final PaymentWebhookEventRepository webhookEventRepository;
+    private final PaymentStatusService paymentStatusService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate eventTransaction;
+
+    @Value("${app.payments.webhook.batch-size:100}")
+    private int batchSize;
+
+    @Value("${app.payments.webhook.max-attempts:20}")
+    private int maxAttempts;
+
+    @Value("${app.payments.webhook.retry-backoff:PT2S}")
+    private Duration retryBackoff;
+
+    @Value("${app.payments.webhook.max-retry-backoff:PT30M}")
+    private Duration maxRetryBackoff;
+
+    public PaymentWebhookProcessor(PaymentWebhookEventRepository webhookEventRepository,
+            PaymentStatusService paymentStatusService, PlatformTransactionManager transactionManager) {
+        this.webhookEventRepository = webhookEventRepository;
+        this.paymentStatusService = paymentStatusService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventTransaction = new TransactionTemplate(transactionManager);
+        this.eventTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Scheduled(fixedDelayString = "${app.payments.webhook.process-interval:PT2S}")
+    public void process() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> processBatch());
+        } catch (RuntimeException ex) {
+            log.error("Payment webhook processing failed", ex);
+        }
+    }
+
+    private void processBatch() {
+        Instant now = Instant.now();
+        List<PaymentWebhookEvent> batch = webhookEventRepository.claimPending(now, PageRequest.of(0, batchSize));
+        for (PaymentWebhookEvent event : batch) {
+            String status = PaymentStatusService.fromPaymentStatus(event.getPaymentStatus());
+            if (event.getCashfreeOrderId() == null || status == null) {
+                event.setProcessedAt(now);
+                continue;
+            }
+
+            event.setAttempts(event.getAttempts() + 1);
+            boolean applied;
+            try {
+                applied = Boolean.TRUE.equals(eventTransaction.execute(
+                        tx -> paymentStatusService.apply(event.getCashfreeOrderId(), status)));
+            } catch (RuntimeException ex) {
+                log.warn("Applying payment webhook {} for Cashfree order {} failed (attempt {}): {}", event.getId(),
+                        event.getCashfreeOrderId(), event.getAttempts(), ex.toString());
+                retryLater(event, ex.toString(), now);
+                continue;
+            }
+            if (applied) {
+                event.setProcessedAt(now);
+                event.setLastError(null);
+            } else {
+                // The webhook can beat the order's commit by seconds or a slow checkout by hours.
+                retryLater(event, "No order references Cashfree order " + event.getCashfreeOrderId(), now);
+            }
+        }
+    }
+
+    private void retryLater(PaymentWebhookEvent event, String error, Instant now) {
+        event.setLastError(error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        if (event.getAttempts() >= maxAttempts) {
+            // Give up; the reconciliation sweep settles the order once it exists.
+            event.setProcessedAt(now);
+            log.error("Gave up on payment webhook {} after {} attempts: {}", event.getId(), event.getAttempts(), error);
+        } else {
+            event.setNextAttemptAt(now.plus(backoff(event.getAttempts())));
+        }
+    }
+
+    // retry-backoff after the first attempt, doubling with each attempt up to max-retry-backoff; with the
+    // defaults the 20 attempts span about five hours.
+    private Duration backoff(int attempts) {
+        Duration delay = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return delay.compareTo(maxRetryBackoff) > 0 ? maxRetryBackoff : delay;
+    }
+}
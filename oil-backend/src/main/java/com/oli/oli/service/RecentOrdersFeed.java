@@ -0,0 +1,147 @@
+package com.oli.oli.service;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+import com.oli.oli.model.OrderEntity;
+import com.oli.oli.model.OrderEvent;
+import com.oli.oli.model.OrderEventType;
+import com.oli.oli.repository.OrderRepository;
+
+/**
+ * The latest orders, kept in a fixed-size ring buffer fed from the outbox. The buffer is seeded from an
+ * indexed {@code ORDER BY created_at DESC LIMIT n} query and re-seeded periodically, which also picks up
+ * orders whose events were dispatched by another instance.
+ */
+@Service
+@Order(0)
+public class RecentOrdersFeed implements OrderEventSubscriber {
+
+    public record RecentOrder(String id, Instant createdAt, BigDecimal total, String status, String customerName) {
+
+        static RecentOrder of(OrderEntity o) {
+            return new RecentOrder(o.getId(), o.getCreatedAt(), o.getTotal() == null ? BigDecimal.ZERO : o.getTotal(),
+                    o.getStatus() == null ? "" : o.getStatus(), o.getCustomerName());
+        }
+
+        RecentOrder withStatus(String newStatus) {
+            return new RecentOrder(id, createdAt, total, newStatus == null ? "" : newStatus, customerName);
+        }
+    }
+
+    private final OrderRepository orderRepository;
+    private final RecentOrder[] ring;
+    private final AdminEventHub adminEventHub;
+    private int next;
+    private long seededAtNanos;
+    private boolean seeded;
+
+    @Value("${app.dashboard.recent-orders.resync-interval:PT1M}")
+    private Duration resyncInterval;
+
+    public RecentOrdersFeed(OrderRepository orderRepository, AdminEventHub adminEventHub,
+            @Value("${app.dashboard.recent-orders.capacity:50}") int capacity) {
+        this.orderRepository = orderRepository;
+        this.adminEventHub = adminEventHub;
+        this.ring = new RecentOrder[Math.max(1, capacity)];
+    }
+
+    public int capacity() {
+        return ring.length;
+    }
+
+    /** Newest first. */
+    public List<RecentOrder> latest(int limit) {
+        synchronized (this) {
+            if (!seeded || System.nanoTime() - seededAtNanos > resyncInterval.toNanos()) {
+                seed();
+            }
+            List<RecentOrder> orders = new ArrayList<>(ring.length);
+            for (RecentOrder order : ring) {
+                if (order != null) {
+                    orders.add(order);
+                }
+            }
+            orders.sort(Comparator.comparing(RecentOrder::createdAt, Comparator.nullsLast(Comparator.naturalOrder())).reversed());
+            return orders.size() > limit ? new ArrayList<>(orders.subList(0, limit)) : orders;
+        }
+    }
+
+    @Override
+    public void onOrderEvents(List<OrderEvent> events) {
+        List<String> created = new ArrayList<>();
+        List<OrderEvent> statusChanges = new ArrayList<>();
+        for (OrderEvent event : events) {
+            if (event.getType() == OrderEventType.CREATED) {
+                created.add(event.getOrderId());
+            } else if (event.getType() == OrderEventType.STATUS_CHANGED) {
+                statusChanges.add(event);
+            }
+        }
+
+        List<RecentOrder> added = new ArrayList<>();
+        if (!created.isEmpty()) {
+            Map<String, OrderEntity> byId = orderRepository.findAllById(created).stream()
+                    .collect(Collectors.toMap(OrderEntity::getId, Function.identity()));
+            for (String id : created) {
+                OrderEntity order = byId.get(id);
+                if (order != null) {
+                    added.add(RecentOrder.of(order));
+                }
+            }
+        }
+
+        synchronized (this) {
+            for (RecentOrder order : added) {
+                put(order);
+            }
+            for (OrderEvent change : statusChanges) {
+                for (int i = 0; i < ring.length; i++) {
+                    if (ring[i] != null && ring[i].id().equals(change.getOrderId())) {
+                        ring[i] = ring[i].withStatus(change.getNewValue());
+                    }
+                }
+            }
+        }
+
+        for (RecentOrder order : added) {
+            adminEventHub.publish(AdminEventHub.ORDER, order.id(), order);
+        }
+    }
+
+    private void put(RecentOrder order) {
+        for (int i = 0; i < ring.length; i++) {
+            if (ring[i] != null && ring[i].id().equals(order.id())) {
+                ring[i] = order;
+                return;
+            }
+        }
+        ring[next] = order;
+        next = (next + 1) % ring.length;
+    }
+
+    private void seed() {
+        List<OrderEntity> orders = orderRepository.findByOrderByCreatedAtDesc(PageRequest.of(0, ring.length));
+        Arrays.fill(ring, null);
+        next = 0;
+        // Oldest first, so the ring overwrites from the oldest end as new orders arrive.
+        for (int i = orders.size() - 1; i >= 0; i--) {
+            put(RecentOrder.of(orders.get(i)));
+        }
+        seeded = true;
+        seededAtNanos = System.nanoTime();
+    }
+}
@@ -8,12 +8,19 @@ import java.net.http.HttpResponse;
 import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 @Service
 public class SmsService {
 
+    private static final Logger log = LoggerFactory.getLogger(SmsService.class);
+
     @Value("${sms.api.url:https://mdssend.in/api.php}")
     private String smsApiUrl;
 
@@ -30,14 +37,23 @@ public class SmsService {
     private String smsRoute;
 
     private final HttpClient httpClient;
+    private final MeterRegistry meterRegistry;
 
-    public SmsService() {
+    public SmsService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
         this.httpClient = HttpClient.newBuilder()
                 .connectTimeout(Duration.ofSeconds(10))
                 .build();
     }
 
     public boolean sendOtp(String mobile, String otpCode) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        boolean sent = send(mobile, otpCode);
+        sample.stop(meterRegistry.timer("sms.send", "outcome", sent ? "success" : "failure"));
+        return sent;
+    }
+
+    private boolean send(String mobile, String otpCode) {
         try {
             String message = String.format(
                     "Dear Customer, %s is your OTP for Login and registration. OTPs are SECRET, Do not disclose it to anyone %s",
@@ -68,8 +84,7 @@ public class SmsService {
             // The API usually returns a response with success/error status
             String responseBody = response.body();
             
-            // Log response for debugging (can be removed in production or use proper logger)
-            System.out.println("SMS API Response: " + responseBody);
+            log.debug("SMS API response status={} body={}", response.statusCode(), responseBody);
             
             // Check status code and response body
             if (response.statusCode() == 200 && responseBody != null) {
@@ -80,8 +95,7 @@ public class SmsService {
 
             return false;
         } catch (Exception e) {
-            System.err.println("Error sending SMS: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Error sending SMS", e);
             return false;
         }
     }
@@ -0,0 +1,280 @@
+package com.oli.oli.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.oli.oli.dto.StockLevelDto;
+import com.oli.oli.dto.StockStripeDto;
+import com.oli.oli.model.OrderEvent;
+import com.oli.oli.model.OrderItemEntity;
+import com.oli.oli.model.StockLevel;
+import com.oli.oli.model.StockReservation;
+import com.oli.oli.model.StockReservationStatus;
+import com.oli.oli.repository.ProductRepository;
+import com.oli.oli.repository.StockLevelRepository;
+import com.oli.oli.repository.StockReservationRepository;
+
+/**
+ * Quantity-tracked stock. A reservation is a conditional decrement of a stripe row that still has the quantity,
+ * made in the checkout's transaction so a rolled-back order never keeps stock.
+ * Hot SKUs can be split over several stripes so concurrent checkouts lock different rows. Cancellations and failed or
+ * expired payments give the stock back through the outbox.
+ */
+@Service
+public class StockService implements OrderEventSubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(StockService.class);
+
+    private static final int MAX_STRIPES = 16;
+    private static final int MAX_VARIANT_LENGTH = 100;
+
+    private record Sku(Long productId, String variant) implements Comparable<Sku> {
+        @Override
+        public int compareTo(Sku o) {
+            int c = productId.compareTo(o.productId);
+            return c != 0 ? c : variant.compareTo(o.variant);
+        }
+    }
+
+    private final StockLevelRepository stockLevelRepository;
+    private final StockReservationRepository stockReservationRepository;
+    private final ProductRepository productRepository;
+    private final AdminEventHub adminEventHub;
+    private final HomeService homeService;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.stock.default-stripes:1}")
+    private int defaultStripes;
+
+    public StockService(StockLevelRepository stockLevelRepository,
+            StockReservationRepository stockReservationRepository, ProductRepository productRepository,
+            AdminEventHub adminEventHub, HomeService homeService, PlatformTransactionManager transactionManager) {
+        this.stockLevelRepository = stockLevelRepository;
+        this.stockReservationRepository = stockReservationRepository;
+        this.productRepository = productRepository;
+        this.adminEventHub = adminEventHub;
+        this.homeService = homeService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Reserves stock for every tracked item of an order, all or nothing. Call it before booking external work
+     * for the order; the decremented stripes stay locked until the caller's transaction ends.
+     *
+     * @throws ResponseStatusException 409 if a tracked item does not have enough stock
+     */
+    public void reserve(String orderId, List<OrderItemEntity> items) {
+        Map<Sku, Integer> wanted = new TreeMap<>();
+        Map<Sku, String> names = new TreeMap<>();
+        collect(items, wanted, names);
+        if (wanted.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            // Sorted keys keep the lock order identical across checkouts, so two carts cannot deadlock.
+            for (Map.Entry<Sku, Integer> entry : wanted.entrySet()) {
+                reserve(orderId, entry.getKey(), entry.getValue(), names.get(entry.getKey()));
+            }
+        });
+    }
+
+    /** Gives back every outstanding reservation of an order. Safe to call more than once. */
+    public void release(String orderId) {
+        transactionTemplate.executeWithoutResult(status -> doRelease(orderId));
+    }
+
+    /** Marks an order's reservations as sold so a later payment expiry does not return them. */
+    public void commit(String orderId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (StockReservation r : stockReservationRepository.lockByOrder(orderId, StockReservationStatus.RESERVED)) {
+                r.setStatus(StockReservationStatus.COMMITTED);
+            }
+        });
+    }
+
+    @Override
+    public void onOrderEvents(List<OrderEvent> events) {
+        for (OrderEvent event : events) {
+            String value = event.getNewValue() == null ? "" : event.getNewValue().trim().toLowerCase(Locale.ROOT);
+            switch (event.getType()) {
+                case STATUS_CHANGED -> {
+                    if (value.equals("cancelled") || value.equals("canceled")) {
+                        release(event.getOrderId());
+                    }
+                }
+                case PAYMENT_STATUS_CHANGED -> {
+                    if (value.equals("failed") || value.equals("expired")) {
+                        release(event.getOrderId());
+                    } else if (value.equals("paid") || value.equals("success") || value.equals("completed")
+                            || value.equals("captured")) {
+                        commit(event.getOrderId());
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    public List<StockLevelDto> levels(Long productId) {
+        return stockLevelRepository.summarize(productId);
+    }
+
+    /** Sets the available quantity of a SKU, spread over {@code stripes} rows. */
+    public StockLevelDto set(Long productId, String variant, int quantity, Integer stripes) {
+        if (quantity < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "quantity must not be negative");
+        }
+        int n = stripes == null ? Math.max(1, defaultStripes) : stripes;
+        if (n < 1 || n > MAX_STRIPES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "stripes must be between 1 and " + MAX_STRIPES);
+        }
+        if (!productRepository.existsById(productId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found");
+        }
+        String v = normalizeVariant(variant);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            stockLevelRepository.lockStripes(productId, v);
+            stockLevelRepository.deleteSku(productId, v);
+            List<StockLevel> rows = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                StockLevel row = new StockLevel();
+                row.setProductId(productId);
+                row.setVariant(v);
+                row.setStripe(i);
+                row.setAvailable(quantity / n + (i < quantity % n ? 1 : 0));
+                rows.add(row);
+            }
+            stockLevelRepository.saveAll(rows);
+            stockLevelRepository.flush();
+            syncInStock(productId);
+        });
+        return new StockLevelDto(v, quantity, n);
+    }
+
+    /** Stops tracking a SKU; orders for it are no longer limited. */
+    public void untrack(Long productId, String variant) {
+        String v = normalizeVariant(variant);
+        transactionTemplate.executeWithoutResult(status -> {
+            stockLevelRepository.lockStripes(productId, v);
+            stockLevelRepository.deleteSku(productId, v);
+        });
+    }
+
+    private void collect(List<OrderItemEntity> items, Map<Sku, Integer> wanted, Map<Sku, String> names) {
+        for (OrderItemEntity item : items) {
+            if (item.getProductId() == null || item.getQuantity() == null || item.getQuantity() <= 0) {
+                continue;
+            }
+            Sku sku = new Sku(item.getProductId(), normalizeVariant(item.getVariant()));
+            wanted.merge(sku, item.getQuantity(), Integer::sum);
+            names.putIfAbsent(sku, item.getProductName());
+        }
+    }
+
+    private void reserve(String orderId, Sku sku, int quantity, String name) {
+        List<StockStripeDto> stripes = stockLevelRepository.findStripes(sku.productId(), sku.variant());
+        if (stripes.isEmpty()) {
+            return;
+        }
+        if (total(stripes) < quantity) {
+            throw insufficient(sku, name);
+        }
+
+        // Fast path: the whole quantity from one stripe, tried from a random one to spread contention.
+        int start = ThreadLocalRandom.current().nextInt(stripes.size());
+        for (int i = 0; i < stripes.size(); i++) {
+            StockStripeDto stripe = stripes.get((start + i) % stripes.size());
+            if (stripe.available() >= quantity
+                    && stockLevelRepository.take(sku.productId(), sku.variant(), stripe.stripe(), quantity) == 1) {
+                record(orderId, sku, stripe.stripe(), quantity);
+                syncInStock(sku.productId());
+                return;
+            }
+        }
+
+        // No stripe has enough on its own: take what each holds, in stripe order so two carts cannot deadlock.
+        // A stripe that shrank since it was read is re-read and retried with what it has left.
+        int remaining = quantity;
+        for (StockStripeDto stripe : stripes) {
+            Integer have = stripe.available();
+            while (remaining > 0 && have != null && have > 0) {
+                int taken = Math.min(have, remaining);
+                if (stockLevelRepository.take(sku.productId(), sku.variant(), stripe.stripe(), taken) == 1) {
+                    record(orderId, sku, stripe.stripe(), taken);
+                    remaining -= taken;
+                    break;
+                }
+                have = stockLevelRepository.availableOn(sku.productId(), sku.variant(), stripe.stripe());
+            }
+        }
+        if (remaining > 0) {
+            // Thrown inside the reservation's transaction, so the stripes already taken are rolled back.
+            throw insufficient(sku, name);
+        }
+        syncInStock(sku.productId());
+    }
+
+    private void doRelease(String orderId) {
+        List<StockReservation> reservations = stockReservationRepository.lockByOrder(orderId, StockReservationStatus.RESERVED);
+        for (StockReservation r : reservations) {
+            // A row removed by an admin reset is not recreated; the reset quantity is authoritative.
+            stockLevelRepository.give(r.getProductId(), r.getVariant(), r.getStripe(), r.getQuantity());
+            r.setStatus(StockReservationStatus.RELEASED);
+        }
+        reservations.stream().map(StockReservation::getProductId).distinct().forEach(this::syncInStock);
+        if (!reservations.isEmpty()) {
+            log.info("Released {} stock reservations for order {}", reservations.size(), orderId);
+        }
+    }
+
+    private void record(String orderId, Sku sku, int stripe, int quantity) {
+        StockReservation r = new StockReservation();
+        r.setOrderId(orderId);
+        r.setProductId(sku.productId());
+        r.setVariant(sku.variant());
+        r.setStripe(stripe);
+        r.setQuantity(quantity);
+        stockReservationRepository.save(r);
+    }
+
+    private void syncInStock(Long productId) {
+        boolean inStock = stockLevelRepository.sumAvailable(productId) > 0;
+        if (productRepository.updateInStock(productId, inStock) > 0) {
+            homeService.invalidate();
+            adminEventHub.publish(AdminEventHub.STOCK, String.valueOf(productId),
+                    Map.of("productId", productId, "inStock", inStock));
+        }
+    }
+
+    private static long total(List<StockStripeDto> stripes) {
+        return stripes.stream().mapToLong(StockStripeDto::available).sum();
+    }
+
+    private static ResponseStatusException insufficient(Sku sku, String name) {
+        return new ResponseStatusException(HttpStatus.CONFLICT,
+                "Insufficient stock for " + (name == null ? "product " + sku.productId() : name));
+    }
+
+    private static String normalizeVariant(String variant) {
+        if (variant == null) {
+            return "";
+        }
+        String v = variant.trim();
+        return v.length() > MAX_VARIANT_LENGTH ? v.substring(0, MAX_VARIANT_LENGTH) : v;
+    }
+}
@@ -0,0 +1,7 @@
+-- Migration: Indexes for the admin inventory view
+-- Description: The inventory list is ordered by lower(name), id; out-of-stock mode only reads the
+-- (usually small) set of rows with in_stock = false. Neither index can be declared through JPA.
+
+CREATE INDEX IF NOT EXISTS idx_products_lower_name ON products (lower(name), id);
+
+CREATE INDEX IF NOT EXISTS idx_products_out_of_stock ON products (lower(name), id) WHERE in_stock = false;
@@ -0,0 +1,11 @@
+-- Migration: Idempotency keys
+-- Description: The first response to each Idempotency-Key, replayed for retries of the same request until
+-- expires_at (IdempotencyService).
+
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(160) PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    response_body TEXT NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,13 @@
+-- Migration: Switch order_items ids from IDENTITY to a pooled sequence
+-- Description: Hibernate cannot batch IDENTITY inserts; the sequence is consumed in blocks of 50
+-- so all items of a checkout are written in one JDBC batch. Previously db/legacy/add_order_items_sequence.sql;
+-- every statement is guarded, so databases where that script was run by hand are unaffected.
+
+CREATE SEQUENCE IF NOT EXISTS order_items_seq START WITH 1 INCREMENT BY 50;
+
+-- Move the sequence past ids that were already handed out by the identity column.
+-- Hibernate's pooled optimizer treats each value as the top of a block of 50, hence the + 50.
+SELECT setval('order_items_seq', (SELECT COALESCE(MAX(id), 0) FROM order_items) + 50, false);
+
+-- The identity default is no longer used for new rows
+ALTER TABLE order_items ALTER COLUMN id DROP IDENTITY IF EXISTS;
@@ -0,0 +1,20 @@
+-- Migration: Order event outbox
+-- Description: Order changes written in the same transaction as the order and dispatched to subscribers
+-- after commit (OrderEventDispatcher). The sequence is consumed in blocks of 50.
+
+CREATE SEQUENCE order_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE order_events (
+    id BIGINT PRIMARY KEY,
+    order_id VARCHAR(64) NOT NULL,
+    event_type VARCHAR(32) NOT NULL
+        CHECK (event_type IN ('CREATED', 'STATUS_CHANGED', 'PAYMENT_STATUS_CHANGED', 'TRACKING_UPDATED')),
+    previous_value TEXT,
+    new_value TEXT,
+    order_total NUMERIC(12, 2),
+    order_created_at TIMESTAMP(6) WITH TIME ZONE,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    dispatched_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE INDEX idx_order_events_undispatched ON order_events (dispatched_at, id);
@@ -0,0 +1,18 @@
+-- Migration: Payment webhook inbox
+-- Description: Cashfree webhooks are stored on receipt, deduplicated by event_key, and applied to their
+-- order asynchronously (PaymentWebhookProcessor).
+
+CREATE TABLE payment_webhook_events (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_key VARCHAR(64) NOT NULL UNIQUE,
+    event_type VARCHAR(64),
+    cashfree_order_id VARCHAR(128),
+    payment_status VARCHAR(32),
+    payload TEXT NOT NULL,
+    attempts INTEGER NOT NULL,
+    last_error TEXT,
+    received_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    processed_at TIMESTAMP(6) WITH TIME ZONE
+);
+
+CREATE INDEX idx_payment_webhook_events_pending ON payment_webhook_events (processed_at, id);
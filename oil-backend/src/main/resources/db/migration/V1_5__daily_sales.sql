@@ -0,0 +1,10 @@
+-- Migration: Daily sales rollup
+-- Description: Paid revenue and order count per day for the dashboard sales chart (DailySalesService),
+-- kept up to date from the outbox and rebuilt from orders by created_at.
+
+CREATE TABLE daily_sales (
+    sales_date DATE PRIMARY KEY,
+    paid_revenue NUMERIC(14, 2) NOT NULL,
+    paid_orders BIGINT NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
@@ -0,0 +1,29 @@
+-- Migration: Quantity-tracked stock
+-- Description: Available quantity per SKU, split over stripe rows so concurrent checkouts update different
+-- rows, and the reservations each order holds against them (StockService).
+
+CREATE SEQUENCE stock_levels_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE stock_reservations_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE stock_levels (
+    id BIGINT PRIMARY KEY,
+    product_id BIGINT NOT NULL,
+    variant VARCHAR(100) NOT NULL,
+    stripe INTEGER NOT NULL,
+    available INTEGER NOT NULL CHECK (available >= 0),
+    CONSTRAINT uk_stock_levels_sku_stripe UNIQUE (product_id, variant, stripe)
+);
+
+CREATE TABLE stock_reservations (
+    id BIGINT PRIMARY KEY,
+    order_id VARCHAR(64) NOT NULL,
+    product_id BIGINT NOT NULL,
+    variant VARCHAR(100) NOT NULL,
+    stripe INTEGER NOT NULL,
+    quantity INTEGER NOT NULL,
+    status VARCHAR(16) NOT NULL CHECK (status IN ('RESERVED', 'COMMITTED', 'RELEASED')),
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX idx_stock_reservations_order ON stock_reservations (order_id);
+CREATE INDEX idx_stock_reservations_status ON stock_reservations (status, created_at);
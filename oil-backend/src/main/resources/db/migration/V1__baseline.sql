@@ -0,0 +1,118 @@
+-- Migration: Baseline schema
+-- Description: The schema as previously created by ddl-auto=update, including the changes from
+-- db/legacy/add_otp_and_phone_verification.sql. Databases that already have these tables are baselined
+-- at version 1 and skip this script, so it must not grow: later tables and changes go in V1_1 onwards.
+
+CREATE TABLE categories (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    slug VARCHAR(255) NOT NULL UNIQUE,
+    image_url VARCHAR(255)
+);
+
+CREATE TABLE sub_categories (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    category_id BIGINT NOT NULL REFERENCES categories (id),
+    name VARCHAR(255) NOT NULL,
+    slug VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE products (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    category_id BIGINT NOT NULL REFERENCES categories (id),
+    sub_category_id BIGINT REFERENCES sub_categories (id),
+    name VARCHAR(255) NOT NULL,
+    slug VARCHAR(255) NOT NULL UNIQUE,
+    short_description VARCHAR(255),
+    description VARCHAR(255),
+    price NUMERIC(38, 2) NOT NULL,
+    original_price NUMERIC(38, 2),
+    size VARCHAR(255),
+    image_url VARCHAR(255),
+    tags_csv VARCHAR(255),
+    sale_offer VARCHAR(255),
+    rating FLOAT(53),
+    review_count INTEGER,
+    in_stock BOOLEAN NOT NULL,
+    featured BOOLEAN NOT NULL,
+    bestseller BOOLEAN NOT NULL,
+    new_launch BOOLEAN NOT NULL
+);
+
+CREATE TABLE sliders (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    title VARCHAR(255),
+    image_url VARCHAR(255) NOT NULL
+);
+
+CREATE TABLE certificates (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    type VARCHAR(255) NOT NULL UNIQUE,
+    title VARCHAR(255),
+    file_url VARCHAR(255),
+    last_updated TIMESTAMP(6)
+);
+
+CREATE TABLE terms_and_conditions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    section_title VARCHAR(255) NOT NULL,
+    section_content TEXT,
+    section_order INTEGER,
+    is_active BOOLEAN NOT NULL,
+    last_updated TIMESTAMP(6)
+);
+
+CREATE TABLE users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    first_name VARCHAR(255) NOT NULL,
+    last_name VARCHAR(255),
+    email VARCHAR(255) NOT NULL UNIQUE,
+    phone VARCHAR(255) UNIQUE,
+    password_hash VARCHAR(255) NOT NULL,
+    is_admin BOOLEAN NOT NULL,
+    phone_verified BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE otps (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    phone VARCHAR(255) NOT NULL,
+    code VARCHAR(6) NOT NULL,
+    verified BOOLEAN NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    expires_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE orders (
+    id VARCHAR(64) PRIMARY KEY,
+    customer_name VARCHAR(255),
+    customer_email VARCHAR(255),
+    customer_phone VARCHAR(255),
+    shipping_address TEXT,
+    shipping_city VARCHAR(255),
+    shipping_state VARCHAR(255),
+    shipping_pincode VARCHAR(255),
+    subtotal NUMERIC(12, 2),
+    shipping NUMERIC(12, 2),
+    total NUMERIC(12, 2),
+    payment_method VARCHAR(32),
+    payment_status VARCHAR(32),
+    status VARCHAR(32),
+    delivery_provider VARCHAR(32),
+    cashfree_order_id VARCHAR(128),
+    tracking_id VARCHAR(128),
+    tracking_url TEXT,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE order_items (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_id VARCHAR(64) NOT NULL REFERENCES orders (id),
+    product_id BIGINT,
+    product_name VARCHAR(255),
+    variant VARCHAR(255),
+    quantity INTEGER NOT NULL,
+    unit_price NUMERIC(12, 2)
+);
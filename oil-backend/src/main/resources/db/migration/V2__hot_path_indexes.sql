@@ -0,0 +1,42 @@
+-- Migration: Indexes for the hot lookup paths
+-- Description: Functional and composite indexes that JPA cannot declare. Built CONCURRENTLY so a live
+-- database keeps taking writes; Flyway runs this script outside a transaction for that reason.
+-- IF NOT EXISTS keeps it safe on databases where db/legacy/add_inventory_indexes.sql was applied by hand.
+
+-- OrderRepository.findByCustomerEmailIgnoreCaseOrderByCreatedAtDesc (Spring Data compares upper(...))
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_customer_email
+    ON orders (upper(customer_email), created_at DESC);
+
+-- Date-range scans: DailySalesService.rebuild, the reports and the archiver
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_created_at ON orders (created_at);
+
+-- OrderRepository.findFirstByCashfreeOrderId and the settlement sweep
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_orders_cashfree_order_id
+    ON orders (cashfree_order_id) WHERE cashfree_order_id IS NOT NULL;
+
+-- OrderItemRepository.findByOrder_Id / findByOrder_IdIn
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_order_items_order_id ON order_items (order_id);
+
+-- OtpRepository: latest OTP per phone and verification state
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_otps_phone_verified_created
+    ON otps (phone, verified, created_at DESC);
+
+-- Superseded by idx_otps_phone_verified_created
+DROP INDEX CONCURRENTLY IF EXISTS idx_otps_phone;
+DROP INDEX CONCURRENTLY IF EXISTS idx_otps_phone_verified;
+
+-- UserRepository.findByEmailIgnoreCase / existsByEmailIgnoreCase
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_users_email_upper ON users (upper(email));
+
+-- SubCategoryRepository.findByCategoryId
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_sub_categories_category_id ON sub_categories (category_id);
+
+-- ProductRepository.findByFilters: category and sub-category filters, optionally with a price range
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_category_price ON products (category_id, price);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_sub_category_price ON products (sub_category_id, price);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_featured ON products (id) WHERE featured;
+
+-- Admin inventory view (previously db/legacy/add_inventory_indexes.sql)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_lower_name ON products (lower(name), id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_products_out_of_stock
+    ON products (lower(name), id) WHERE in_stock = false;
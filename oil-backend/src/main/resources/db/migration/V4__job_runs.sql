@@ -0,0 +1,16 @@
+-- Migration: Job run history
+-- Description: One row per execution of a cluster-wide scheduled job (JobRunner). Rows older than
+-- app.jobs.retention are purged by the job-runs-purge job.
+
+CREATE TABLE job_runs (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    job_name VARCHAR(64) NOT NULL,
+    node VARCHAR(255),
+    status VARCHAR(16) NOT NULL CHECK (status IN ('RUNNING', 'SUCCEEDED', 'FAILED')),
+    started_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    finished_at TIMESTAMP(6) WITH TIME ZONE,
+    duration_ms BIGINT,
+    error TEXT
+);
+
+CREATE INDEX idx_job_runs_job_started ON job_runs (job_name, started_at);
@@ -0,0 +1,5 @@
+-- Migration: Pending idempotency claims
+-- Description: IdempotencyService now commits the key before running the request it guards, and writes
+-- the response when the request finishes; until then response_body is NULL.
+
+ALTER TABLE idempotency_keys ALTER COLUMN response_body DROP NOT NULL;
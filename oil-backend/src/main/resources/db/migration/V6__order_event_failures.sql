@@ -0,0 +1,17 @@
+-- Migration: Outbox delivery failures
+-- Description: Order events a subscriber failed to handle (OrderEventDispatcher). Each row is redelivered to
+-- its subscriber with exponential backoff and parked after app.outbox.max-attempts, so one failing
+-- subscriber no longer blocks the outbox.
+
+CREATE TABLE order_event_failures (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    event_id BIGINT NOT NULL,
+    subscriber VARCHAR(128) NOT NULL,
+    attempts INTEGER NOT NULL,
+    last_error TEXT,
+    next_attempt_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    parked_at TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT uk_order_event_failures_event_subscriber UNIQUE (event_id, subscriber)
+);
+
+CREATE INDEX idx_order_event_failures_due ON order_event_failures (parked_at, next_attempt_at);
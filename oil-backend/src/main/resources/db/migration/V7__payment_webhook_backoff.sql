@@ -0,0 +1,5 @@
+-- Migration: Payment webhook retry backoff
+-- Description: Webhooks whose order is not committed yet are retried with exponential backoff over several
+-- hours (PaymentWebhookProcessor); NULL means due now.
+
+ALTER TABLE payment_webhook_events ADD COLUMN next_attempt_at TIMESTAMP(6) WITH TIME ZONE;
@@ -0,0 +1,84 @@
+package com.oli.oli.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.OutputStream;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.oli.oli.repository.CategoryRepository;
+
+@SpringBootTest
+class QueryCounterTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @AfterEach
+    void stop() {
+        QueryCounter.stop();
+    }
+
+    @Test
+    void countsHibernateAndJdbcTemplateStatements() {
+        QueryCounter.start();
+        categoryRepository.count();
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM categories", Long.class);
+        jdbcTemplate.batchUpdate("UPDATE categories SET name = name WHERE id = -1",
+                "UPDATE categories SET name = name WHERE id = -2");
+
+        assertEquals(3, QueryCounter.current());
+    }
+
+    @Test
+    void countsPropagatedWorkAgainstTheRequest() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            QueryCounter.start();
+            CompletableFuture.supplyAsync(QueryCounter.propagate(categoryRepository::count), executor).get();
+            CompletableFuture.supplyAsync(categoryRepository::count, executor).get();
+
+            assertEquals(1, QueryCounter.current());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void countsPropagatedStreamingBodyAgainstTheRequest() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            QueryCounter.start();
+            StreamingResponseBody body = QueryCounter.propagateBody(out -> categoryRepository.count());
+            executor.submit(() -> {
+                body.writeTo(OutputStream.nullOutputStream());
+                return null;
+            }).get();
+
+            assertEquals(1, QueryCounter.current());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void statementOverTheBudgetFails() {
+        QueryCounter.start(1);
+        jdbcTemplate.queryForObject("SELECT COUNT(*) FROM categories", Long.class);
+
+        assertThrows(QueryBudgetExceededException.class,
+                () -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM categories", Long.class));
+    }
+}
@@ -0,0 +1,113 @@
+package com.oli.oli.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.oli.oli.model.Category;
+import com.oli.oli.model.Product;
+import com.oli.oli.repository.CategoryRepository;
+import com.oli.oli.repository.OrderRepository;
+import com.oli.oli.repository.ProductRepository;
+import com.oli.oli.service.StockService;
+
+@SpringBootTest
+class OrderControllerTest {
+
+    @Autowired
+    private OrderController orderController;
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @MockitoBean
+    private IThinkController iThinkController;
+
+    private Long productId;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString();
+        Category category = new Category();
+        category.setName("Orders " + suffix);
+        category.setSlug("orders-category-" + suffix);
+        categoryRepository.save(category);
+
+        Product product = new Product();
+        product.setCategory(category);
+        product.setName("Sesame oil");
+        product.setSlug("orders-product-" + suffix);
+        product.setPrice(new BigDecimal("299"));
+        product.setInStock(true);
+        productId = productRepository.save(product).getId();
+
+        when(iThinkController.serviceability(anyString(), any(), anyBoolean(), any())).thenReturn(ResponseEntity.ok(
+                new IThinkController.ServiceabilityResponse(true, BigDecimal.ZERO, null, null)));
+        when(iThinkController.createOrder(any(), any())).thenReturn(
+                new IThinkController.CreateOrderResponse(true, "WB-1", null, null, null, null));
+    }
+
+    @Test
+    void soldOutOrderIsRejectedBeforeTheShipmentIsBooked() {
+        stockService.set(productId, null, 1, 1);
+
+        orderController.create(null, request());
+        String lost = "ORDER-" + UUID.randomUUID();
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> orderController.create(null, request(lost)));
+
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        verify(iThinkController, times(1)).createOrder(any(), any());
+        assertFalse(orderRepository.existsById(lost));
+    }
+
+    @Test
+    void failedBookingGivesTheStockBack() {
+        stockService.set(productId, null, 1, 1);
+        when(iThinkController.createOrder(any(), any())).thenReturn(
+                new IThinkController.CreateOrderResponse(false, null, null, null, "Pincode blocked", null));
+
+        assertThrows(ResponseStatusException.class, () -> orderController.create(null, request()));
+
+        assertEquals(1, stockService.levels(productId).get(0).available());
+    }
+
+    private OrderController.CreateOrderRequest request() {
+        return request("ORDER-" + UUID.randomUUID());
+    }
+
+    private OrderController.CreateOrderRequest request(String id) {
+        return new OrderController.CreateOrderRequest(id, "Asha", "asha@example.com", "9999999999", "1 Mill Road",
+                "Jaipur", "Rajasthan", "302001", new BigDecimal("299"), BigDecimal.ZERO, new BigDecimal("299"),
+                "online", "pending", null, "Processing",
+                List.of(new OrderController.OrderItemDto(productId, "Sesame oil", null, 1, new BigDecimal("299"))));
+    }
+}
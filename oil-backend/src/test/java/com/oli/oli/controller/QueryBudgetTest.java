@@ -0,0 +1,269 @@
+package com.oli.oli.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import com.oli.oli.config.QueryBudget;
+import com.oli.oli.config.QueryCountInterceptor;
+import com.oli.oli.model.Category;
+import com.oli.oli.model.Certificate;
+import com.oli.oli.model.OrderEntity;
+import com.oli.oli.model.OrderItemEntity;
+import com.oli.oli.model.Product;
+import com.oli.oli.model.Slider;
+import com.oli.oli.model.SubCategory;
+import com.oli.oli.model.TermsAndConditions;
+import com.oli.oli.model.User;
+import com.oli.oli.repository.CategoryRepository;
+import com.oli.oli.repository.CertificateRepository;
+import com.oli.oli.repository.OrderItemRepository;
+import com.oli.oli.repository.OrderRepository;
+import com.oli.oli.repository.ProductRepository;
+import com.oli.oli.repository.SliderRepository;
+import com.oli.oli.repository.SubCategoryRepository;
+import com.oli.oli.repository.TermsAndConditionsRepository;
+import com.oli.oli.repository.UserRepository;
+import com.oli.oli.service.CashfreeClient;
+
+/**
+ * Every GET handler in this package must declare a {@link QueryBudget} and stay within it. The fixture has
+ * several rows per table, so a per-row lookup (N+1) goes over any budget that fits a constant query plan.
+ * Upstreams are stubbed so that every sample succeeds; a budget measured on an error path proves nothing.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class QueryBudgetTest {
+
+    private static final int ROWS = 6;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    @Qualifier("requestMappingHandlerMapping")
+    private RequestMappingHandlerMapping handlerMapping;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private SubCategoryRepository subCategoryRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private SliderRepository sliderRepository;
+
+    @Autowired
+    private CertificateRepository certificateRepository;
+
+    @Autowired
+    private TermsAndConditionsRepository termsAndConditionsRepository;
+
+    @MockitoBean
+    private CashfreeClient cashfreeClient;
+
+    private final Map<String, String> samples = new LinkedHashMap<>();
+
+    @BeforeEach
+    void seed() {
+        when(cashfreeClient.getOrder(anyString()))
+                .thenReturn(ResponseEntity.ok(Map.of("order_id", "CF-BUDGET-0", "order_status", "ACTIVE")));
+        if (productRepository.count() > 0) {
+            return;
+        }
+
+        List<Category> categories = new ArrayList<>();
+        List<SubCategory> subCategories = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Category c = new Category();
+            c.setName("Category " + i);
+            c.setSlug("budget-category-" + i);
+            categories.add(categoryRepository.save(c));
+
+            SubCategory s = new SubCategory();
+            s.setCategory(c);
+            s.setName("Sub " + i);
+            s.setSlug("budget-sub-" + i);
+            subCategories.add(subCategoryRepository.save(s));
+        }
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            Product p = new Product();
+            p.setCategory(categories.get(i));
+            p.setSubCategory(subCategories.get(i));
+            p.setName("Mustard oil " + i);
+            p.setSlug("budget-product-" + i);
+            p.setShortDescription("Cold pressed mustard oil");
+            p.setDescription("Cold pressed mustard oil");
+            p.setPrice(new BigDecimal("199"));
+            p.setSize("500ml");
+            p.setTagsCsv("organic, cooking");
+            p.setInStock(true);
+            products.add(productRepository.save(p));
+        }
+
+        for (int i = 0; i < ROWS; i++) {
+            User u = new User();
+            u.setFirstName("Customer");
+            u.setEmail("budget" + i + "@example.com");
+            u.setPhone("90000000" + (10 + i));
+            u.setPasswordHash("x");
+            userRepository.save(u);
+        }
+
+        for (int i = 0; i < ROWS; i++) {
+            OrderEntity o = new OrderEntity();
+            o.setId("BUDGET-" + i);
+            o.setCustomerName("Customer");
+            o.setCustomerEmail("budget0@example.com");
+            o.setTotal(new BigDecimal("458"));
+            o.setPaymentStatus("paid");
+            o.setStatus("pending");
+            o.setDeliveryProvider("Manual");
+            orderRepository.save(o);
+            for (int j = 0; j < 2; j++) {
+                OrderItemEntity it = new OrderItemEntity();
+                it.setOrder(o);
+                it.setProductId(products.get(j).getId());
+                it.setProductName(products.get(j).getName());
+                it.setQuantity(1);
+                it.setUnitPrice(new BigDecimal("199"));
+                orderItemRepository.save(it);
+            }
+        }
+
+        for (int i = 0; i < ROWS; i++) {
+            Slider s = new Slider();
+            s.setTitle("Slide " + i);
+            s.setImageUrl("/uploads/slide-" + i + ".jpg");
+            sliderRepository.save(s);
+
+            Certificate c = new Certificate();
+            c.setType("budget-" + i);
+            c.setTitle("Certificate " + i);
+            certificateRepository.save(c);
+
+            TermsAndConditions t = new TermsAndConditions();
+            t.setSectionTitle("Section " + i);
+            t.setSectionContent("Content");
+            t.setSectionOrder(i);
+            termsAndConditionsRepository.save(t);
+        }
+    }
+
+    private Map<String, String> samples() {
+        if (samples.isEmpty()) {
+            samples.put("/api/products/{id}", "/api/products/" + productRepository.findAll().get(0).getId());
+            samples.put("/api/categories/{id}", "/api/categories/" + categoryRepository.findAll().get(0).getId());
+            samples.put("/api/subcategories/{id}", "/api/subcategories/" + subCategoryRepository.findAll().get(0).getId());
+            samples.put("/api/users/{id}", "/api/users/" + userRepository.findAll().get(0).getId());
+            samples.put("/api/sliders/{id}", "/api/sliders/" + sliderRepository.findAll().get(0).getId());
+            samples.put("/api/terms-conditions/{id}",
+                    "/api/terms-conditions/" + termsAndConditionsRepository.findAll().get(0).getId());
+            samples.put("/api/orders/{id}", "/api/orders/BUDGET-0");
+            samples.put("/api/admin/stock/{productId}", "/api/admin/stock/" + productRepository.findAll().get(0).getId());
+            samples.put("/api/admin/jobs/{job}/runs", "/api/admin/jobs/otp-purge/runs");
+            samples.put("/api/payments/cashfree/orders/{orderId}", "/api/payments/cashfree/orders/CF-BUDGET-0");
+            samples.put("/api/orders", "/api/orders?email=budget0@example.com");
+            samples.put("/api/search", "/api/search?q=mustard");
+            samples.put("/api/ithink/serviceability", "/api/ithink/serviceability?deliveryPincode=302001");
+        }
+        return samples;
+    }
+
+    @TestFactory
+    Stream<DynamicTest> everyGetEndpointStaysWithinItsQueryBudget() {
+        List<DynamicTest> tests = new ArrayList<>();
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : handlerMapping.getHandlerMethods().entrySet()) {
+            HandlerMethod handler = entry.getValue();
+            if (!handler.getBeanType().getPackageName().equals(ProductController.class.getPackageName())) {
+                continue;
+            }
+            Set<RequestMethod> methods = entry.getKey().getMethodsCondition().getMethods();
+            if (!methods.isEmpty() && !methods.contains(RequestMethod.GET)) {
+                continue;
+            }
+            for (String pattern : entry.getKey().getPatternValues()) {
+                tests.add(DynamicTest.dynamicTest("GET " + pattern, () -> assertWithinBudget(pattern, handler)));
+            }
+        }
+        return tests.stream();
+    }
+
+    @Test
+    void streamedExportQueryCountsAgainstTheRequest() throws Exception {
+        MvcResult started = mockMvc.perform(get("/api/admin/exports/orders")).andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(started)).andReturn();
+
+        assertEquals(1, result.getRequest().getAttribute(QueryCountInterceptor.QUERY_COUNT_ATTRIBUTE));
+    }
+
+    private void assertWithinBudget(String pattern, HandlerMethod handler) throws Exception {
+        QueryBudget budget = handler.getMethodAnnotation(QueryBudget.class);
+        assertNotNull(budget, () -> handler.toString() + " has no @QueryBudget");
+
+        String url = samples().getOrDefault(pattern, pattern);
+        if (url.contains("{")) {
+            fail("No sample URL for " + pattern + "; add one to QueryBudgetTest.samples()");
+        }
+
+        MvcResult started = mockMvc.perform(get(url)).andReturn();
+        // Event streams stay open, so only their initial dispatch is measured.
+        boolean stream = ResponseBodyEmitter.class.isAssignableFrom(handler.getMethod().getReturnType());
+        MvcResult result = started.getRequest().isAsyncStarted() && !stream
+                ? mockMvc.perform(asyncDispatch(started)).andReturn()
+                : started;
+        int status = result.getResponse().getStatus();
+        Object count = result.getRequest().getAttribute(QueryCountInterceptor.QUERY_COUNT_ATTRIBUTE);
+
+        assertTrue(status >= 200 && status < 300, () -> "GET " + url + " returned " + status
+                + (result.getResolvedException() == null ? "" : ": " + result.getResolvedException().getMessage()));
+        assertNotNull(count, () -> "GET " + url + " was not counted");
+        assertTrue((Integer) count <= budget.value(),
+                () -> "GET " + url + " issued " + count + " SQL statements, budget is " + budget.value());
+    }
+}
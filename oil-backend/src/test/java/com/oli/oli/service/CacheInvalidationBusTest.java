@@ -0,0 +1,72 @@
+package com.oli.oli.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.oli.oli.model.Product;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class CacheInvalidationBusTest {
+
+    // The bus only listens on PostgreSQL, so on H2 nothing but this test queues keys on it.
+    @Autowired
+    private CacheInvalidationBus bus;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void keysAreKeptWhenNotifyFails() throws SQLException {
+        EntityPersister products = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel().getEntityDescriptor(Product.class);
+        bus.invalidate(products, 1L);
+        bus.invalidate(products, 2L);
+
+        Connection broken = mock(Connection.class);
+        when(broken.prepareStatement(anyString())).thenThrow(new SQLException("connection reset"));
+        assertThrows(SQLException.class, () -> bus.flush(broken));
+
+        List<String> sent = new ArrayList<>();
+        Connection working = recording(sent);
+        bus.flush(working);
+        assertEquals(1, sent.size());
+        assertTrue(sent.get(0).contains(Product.class.getName() + ":1"));
+        assertTrue(sent.get(0).contains(Product.class.getName() + ":2"));
+
+        bus.flush(working);
+        assertEquals(1, sent.size());
+    }
+
+    private static Connection recording(List<String> payloads) throws SQLException {
+        PreparedStatement statement = mock(PreparedStatement.class);
+        doAnswer(invocation -> {
+            if ((int) invocation.getArgument(0) == 2) {
+                payloads.add(invocation.getArgument(1));
+            }
+            return null;
+        }).when(statement).setString(anyInt(), anyString());
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString())).thenReturn(statement);
+        return connection;
+    }
+}
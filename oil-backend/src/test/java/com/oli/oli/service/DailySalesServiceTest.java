@@ -0,0 +1,74 @@
+package com.oli.oli.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.oli.oli.model.DailySales;
+import com.oli.oli.model.OrderEntity;
+import com.oli.oli.repository.OrderRepository;
+
+@SpringBootTest
+class DailySalesServiceTest {
+
+    @Autowired
+    private DailySalesService dailySalesService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void rebuildAcrossMonthsMatchesEachDay() {
+        // Long before any order other tests create, so the days below hold only these orders.
+        LocalDate from = LocalDate.of(2001, 1, 15);
+        LocalDate to = LocalDate.of(2001, 3, 10);
+        createPaidOrder(LocalDate.of(2001, 1, 31), "100");
+        createPaidOrder(LocalDate.of(2001, 1, 31), "50");
+        createPaidOrder(LocalDate.of(2001, 2, 1), "70");
+        createPaidOrder(LocalDate.of(2001, 3, 10), "30");
+
+        assertEquals(ChronoUnit.DAYS.between(from, to) + 1, dailySalesService.rebuild(from, to));
+
+        Map<LocalDate, DailySales> byDay = dailySalesService.findRange(from, to).stream()
+                .collect(Collectors.toMap(DailySales::getDate, s -> s));
+        assertEquals(3, byDay.size());
+        assertTotals(byDay.get(LocalDate.of(2001, 1, 31)), "150", 2);
+        assertTotals(byDay.get(LocalDate.of(2001, 2, 1)), "70", 1);
+        assertTotals(byDay.get(LocalDate.of(2001, 3, 10)), "30", 1);
+    }
+
+    private void createPaidOrder(LocalDate day, String total) {
+        OrderEntity order = new OrderEntity();
+        order.setId("SALES-" + UUID.randomUUID());
+        order.setCustomerName("Sales Test");
+        order.setCustomerEmail("sales@example.com");
+        order.setTotal(new BigDecimal(total));
+        order.setPaymentStatus("paid");
+        order.setStatus("Processing");
+        orderRepository.save(order);
+
+        Instant createdAt = day.atTime(12, 0).toInstant(ZoneOffset.UTC);
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id = ?", Timestamp.from(createdAt), order.getId());
+    }
+
+    private static void assertTotals(DailySales row, String revenue, long orders) {
+        assertEquals(0, new BigDecimal(revenue).compareTo(row.getPaidRevenue()));
+        assertEquals(orders, row.getPaidOrders());
+    }
+}
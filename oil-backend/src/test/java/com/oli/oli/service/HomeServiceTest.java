@@ -0,0 +1,67 @@
+package com.oli.oli.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import com.oli.oli.config.QueryCounter;
+import com.oli.oli.model.Product;
+
+import jakarta.persistence.EntityManagerFactory;
+
+@SpringBootTest
+class HomeServiceTest {
+
+    @Autowired
+    private HomeService homeService;
+
+    @Autowired
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void stop() {
+        QueryCounter.stop();
+    }
+
+    // Sections served from the second-level query cache issue nothing, so a miss costs one to six statements.
+    @Test
+    void missCountsTheLoaderThreadsQueriesAgainstTheCaller() {
+        homeService.invalidate();
+
+        QueryCounter.start();
+        homeService.get();
+        assertTrue(QueryCounter.current() > 0);
+        assertTrue(QueryCounter.current() <= 6);
+
+        QueryCounter.start();
+        homeService.get();
+        assertEquals(0, QueryCounter.current());
+    }
+
+    @Test
+    void remoteInvalidationDropsTheCachedPage() {
+        homeService.get();
+
+        homeService.onRemoteInvalidation();
+        QueryCounter.start();
+        homeService.get();
+        assertTrue(QueryCounter.current() > 0);
+    }
+
+    @Test
+    void productWritesArePublishedOnTheBus() {
+        // Products are not in the second-level cache; the bus publishes their writes for the homepage.
+        EntityPersister products = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMappingMetamodel().getEntityDescriptor(Product.class);
+        assertTrue(cacheInvalidationBus.requiresPostCommitHandling(products));
+    }
+}
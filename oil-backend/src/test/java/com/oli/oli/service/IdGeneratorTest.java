@@ -0,0 +1,125 @@
+package com.oli.oli.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class IdGeneratorTest {
+
+    private static final long NOW = Instant.parse("2026-03-01T12:00:00Z").toEpochMilli();
+    private static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    @Test
+    void idsAreUniqueAndOrderedPerThreadUnderContention() throws Exception {
+        IdGenerator generator = new IdGenerator(7);
+        int threads = 8;
+        int perThread = 20_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    long[] ids = new long[perThread];
+                    for (int i = 0; i < perThread; i++) {
+                        ids[i] = generator.next();
+                    }
+                    return ids;
+                }));
+            }
+            start.countDown();
+
+            Set<Long> seen = new HashSet<>();
+            for (Future<long[]> result : results) {
+                long[] ids = result.get(30, TimeUnit.SECONDS);
+                for (int i = 0; i < ids.length; i++) {
+                    assertTrue(seen.add(ids[i]), "duplicate id " + ids[i]);
+                    if (i > 0) {
+                        assertTrue(ids[i] > ids[i - 1], "ids went backwards within a thread");
+                        assertTrue(IdGenerator.encode(ids[i]).compareTo(IdGenerator.encode(ids[i - 1])) > 0,
+                                "encoded ids do not sort like the ids");
+                    }
+                    assertEquals(7, node(ids[i]));
+                }
+            }
+            assertEquals(threads * perThread, seen.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void exhaustedSequenceBorrowsTheNextMillisecond() {
+        IdGenerator generator = generatorAt(() -> NOW);
+
+        long previous = generator.next();
+        assertEquals(NOW - EPOCH_MILLIS, millis(previous));
+        assertEquals(0, sequence(previous));
+        for (int i = 1; i < 4096; i++) {
+            long id = generator.next();
+            assertEquals(NOW - EPOCH_MILLIS, millis(id));
+            assertEquals(i, sequence(id));
+            previous = id;
+        }
+
+        long rolled = generator.next();
+        assertTrue(rolled > previous);
+        assertEquals(NOW - EPOCH_MILLIS + 1, millis(rolled));
+        assertEquals(0, sequence(rolled));
+    }
+
+    @Test
+    void clockMovingBackwardsKeepsIdsIncreasing() {
+        AtomicLong time = new AtomicLong(NOW);
+        IdGenerator generator = generatorAt(time::get);
+
+        long before = generator.next();
+        time.set(NOW - 5_000);
+        long after = generator.next();
+        long later = generator.next();
+
+        assertTrue(after > before);
+        assertTrue(later > after);
+        assertEquals(millis(before), millis(after));
+        assertTrue(IdGenerator.encode(after).compareTo(IdGenerator.encode(before)) > 0);
+
+        // Once the clock passes the last id again, ids follow it.
+        time.set(NOW + 10);
+        assertEquals(NOW - EPOCH_MILLIS + 10, millis(generator.next()));
+    }
+
+    private static IdGenerator generatorAt(LongSupplier clock) {
+        IdGenerator generator = new IdGenerator(3);
+        ReflectionTestUtils.setField(generator, "clock", clock);
+        return generator;
+    }
+
+    private static long millis(long id) {
+        return id >>> 22;
+    }
+
+    private static long node(long id) {
+        return (id >>> 12) & 1023;
+    }
+
+    private static long sequence(long id) {
+        return id & 4095;
+    }
+}
@@ -0,0 +1,163 @@
+package com.oli.oli.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.oli.oli.repository.IdempotencyKeyRepository;
+
+@SpringBootTest
+class IdempotencyServiceTest {
+
+    record Request(String sku, int quantity) {
+    }
+
+    record Result(String value) {
+    }
+
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final AtomicInteger calls = new AtomicInteger();
+
+    @Test
+    void retryReplaysTheFirstResponse() {
+        String key = newKey();
+        Result first = execute(key, new Request("oil", 1));
+        Result second = execute(key, new Request("oil", 1));
+
+        assertEquals(first, second);
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void reusingAKeyForADifferentRequestIsRejected() {
+        String key = newKey();
+        execute(key, new Request("oil", 1));
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> execute(key, new Request("oil", 2)));
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, ex.getStatusCode());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void concurrentDuplicatesRunTheActionOnce() throws Exception {
+        String key = newKey();
+        int threads = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Result>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return idempotencyService.execute("test", key, new Request("oil", 1), Result.class, () -> {
+                        sleep(50);
+                        return new Result("run-" + calls.incrementAndGet());
+                    });
+                }));
+            }
+            start.countDown();
+            for (Future<Result> result : results) {
+                assertEquals(new Result("run-1"), result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void keyClaimedByAnotherInstanceIsAConflict() {
+        String key = newKey();
+        Request request = new Request("oil", 1);
+        execute(key, request);
+        String hash = requestHash(key);
+        // Replace the finished row with the pending claim another instance would hold while it runs.
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            idempotencyKeyRepository.deleteById("test:" + key);
+            idempotencyKeyRepository.flush();
+            idempotencyKeyRepository.insertPending("test:" + key, hash, Instant.now(),
+                    Instant.now().plus(Duration.ofHours(1)));
+        });
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class, () -> execute(key, request));
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void abandonedClaimIsTakenOver() {
+        String key = newKey();
+        Request request = new Request("oil", 1);
+        execute(key, request);
+        String hash = requestHash(key);
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            idempotencyKeyRepository.deleteById("test:" + key);
+            idempotencyKeyRepository.flush();
+            Instant claimedAt = Instant.now().minus(Duration.ofHours(1));
+            idempotencyKeyRepository.insertPending("test:" + key, hash, claimedAt, claimedAt.plus(Duration.ofDays(1)));
+        });
+
+        assertEquals(new Result("run-2"), execute(key, request));
+    }
+
+    @Test
+    void failedActionReleasesTheKey() {
+        String key = newKey();
+        Request request = new Request("oil", 1);
+        assertThrows(IllegalStateException.class, () -> idempotencyService.execute("test", key, request, Result.class,
+                () -> {
+                    throw new IllegalStateException("upstream failed");
+                }));
+
+        assertEquals(new Result("run-1"), execute(key, request));
+    }
+
+    private Result execute(String key, Request request) {
+        return idempotencyService.execute("test", key, request, Result.class,
+                () -> new Result("run-" + calls.incrementAndGet()));
+    }
+
+    private String requestHash(String key) {
+        return idempotencyKeyRepository.findById("test:" + key).orElseThrow().getRequestHash();
+    }
+
+    private static String newKey() {
+        return UUID.randomUUID().toString();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.oli.oli.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.oli.oli.controller.OrderController;
+import com.oli.oli.controller.ReportsController;
+import com.oli.oli.model.OrderEntity;
+import com.oli.oli.model.OrderItemEntity;
+import com.oli.oli.repository.OrderItemRepository;
+import com.oli.oli.repository.OrderRepository;
+
+@SpringBootTest
+class OrderArchiveServiceTest {
+
+    @Autowired
+    private OrderArchiveService orderArchiveService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderItemRepository orderItemRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReportsController reportsController;
+
+    @Autowired
+    private OrderController orderController;
+
+    @Autowired
+    private OrderExportService orderExportService;
+
+    @Test
+    void archivedOrdersStillCountInReportsExportsAndCustomerHistory() throws IOException {
+        String suffix = UUID.randomUUID().toString();
+        String email = "archive-" + suffix + "@example.com";
+        String product = "Archived mustard oil " + suffix;
+        // Old enough to archive, recent enough for every report window; orders other tests create are newer.
+        Instant createdAt = Instant.now().minus(62, ChronoUnit.DAYS).truncatedTo(ChronoUnit.SECONDS);
+        String oldest = createOrder(email, product, "Delivered", "paid", createdAt);
+        String older = createOrder(email, product, "Delivered", "paid", createdAt.plusSeconds(1));
+        String live = createOrder(email, product, "Processing", "paid", Instant.now());
+
+        Map<String, Object> overviewBefore = reportsController.overview(12);
+        Map<String, Object> topBefore = reportsController.topProducts(3, 50);
+        Map<String, Object> breakdownBefore = reportsController.ordersBreakdown(12);
+        assertEquals(List.of(live, older, oldest), ids(orderController.list(email, 1, 100)));
+        Instant from = createdAt.minus(1, ChronoUnit.DAYS);
+        Instant to = createdAt.plus(1, ChronoUnit.DAYS);
+        List<String> exportsBefore = exports(from, to);
+
+        orderArchiveService.archiveBatch(createdAt.plusSeconds(2));
+        assertFalse(orderRepository.existsById(oldest));
+        assertFalse(orderRepository.existsById(older));
+
+        assertEquals(overviewBefore.get("totals"), reportsController.overview(12).get("totals"));
+        assertEquals(overviewBefore.get("months"), reportsController.overview(12).get("months"));
+        assertEquals(productRow(topBefore, product), productRow(reportsController.topProducts(3, 50), product));
+        assertEquals(breakdownBefore.get("months"), reportsController.ordersBreakdown(12).get("months"));
+        assertEquals(exportsBefore, exports(from, to));
+
+        assertEquals(List.of(live, older, oldest), ids(orderController.list(email, 1, 100)));
+        // Pages that straddle the live and archived orders.
+        assertEquals(List.of(live, older), ids(orderController.list(email, 1, 2)));
+        assertEquals(List.of(oldest), ids(orderController.list(email, 2, 2)));
+        assertEquals(List.of(older), ids(orderController.list(email, 2, 1)));
+    }
+
+    private String createOrder(String email, String product, String status, String paymentStatus, Instant createdAt) {
+        OrderEntity order = new OrderEntity();
+        order.setId("ARCH-" + UUID.randomUUID());
+        order.setCustomerName("Archive Test");
+        order.setCustomerEmail(email);
+        order.setTotal(new BigDecimal("300"));
+        order.setPaymentStatus(paymentStatus);
+        order.setStatus(status);
+        order.setDeliveryProvider("ithink");
+        orderRepository.save(order);
+
+        OrderItemEntity item = new OrderItemEntity();
+        item.setOrder(order);
+        item.setProductId(424242L);
+        item.setProductName(product);
+        item.setQuantity(2);
+        item.setUnitPrice(new BigDecimal("150"));
+        orderItemRepository.save(item);
+
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id = ?", Timestamp.from(createdAt), order.getId());
+        return order.getId();
+    }
+
+    private List<String> exports(Instant from, Instant to) throws IOException {
+        List<String> exports = new ArrayList<>();
+        for (ExportFormat format : ExportFormat.values()) {
+            ByteArrayOutputStream orders = new ByteArrayOutputStream();
+            assertEquals(2, orderExportService.exportOrders(format, from, to, orders));
+            exports.add(orders.toString(StandardCharsets.UTF_8));
+
+            ByteArrayOutputStream items = new ByteArrayOutputStream();
+            assertEquals(2, orderExportService.exportOrderItems(format, from, to, items));
+            exports.add(items.toString(StandardCharsets.UTF_8));
+
+            ByteArrayOutputStream breakdown = new ByteArrayOutputStream();
+            assertEquals(1, orderExportService.exportOrdersBreakdown(format, from, to, breakdown));
+            exports.add(breakdown.toString(StandardCharsets.UTF_8));
+
+            ByteArrayOutputStream products = new ByteArrayOutputStream();
+            assertEquals(1, orderExportService.exportTopProducts(format, from, to, products));
+            exports.add(products.toString(StandardCharsets.UTF_8));
+        }
+        return exports;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> productRow(Map<String, Object> report, String product) {
+        return ((List<Map<String, Object>>) report.get("products")).stream()
+                .filter(row -> product.equals(row.get("name")))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private static List<String> ids(List<OrderController.OrderResponse> orders) {
+        return orders.stream().map(OrderController.OrderResponse::id).toList();
+    }
+}
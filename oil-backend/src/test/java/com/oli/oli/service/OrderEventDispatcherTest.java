@@ -0,0 +1,180 @@
+package com.oli.oli.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.oli.oli.model.OrderEvent;
+import com.oli.oli.model.OrderEventFailure;
+import com.oli.oli.model.OrderEventType;
+import com.oli.oli.repository.OrderEventFailureRepository;
+import com.oli.oli.repository.OrderEventRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+@SpringBootTest
+class OrderEventDispatcherTest {
+
+    // Events are published and dispatched in one transaction, so the application's own dispatcher never sees
+    // them; its redelivery only claims failures of subscribers it has, so it leaves these alone too.
+    static class RecordingSubscriber implements OrderEventSubscriber {
+        final List<Long> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onOrderEvents(List<OrderEvent> events) {
+            events.forEach(event -> received.add(event.getId()));
+        }
+    }
+
+    static class FailingSubscriber implements OrderEventSubscriber {
+        final Set<String> poisoned = ConcurrentHashMap.newKeySet();
+        final List<Long> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onOrderEvents(List<OrderEvent> events) {
+            for (OrderEvent event : events) {
+                if (poisoned.contains(event.getOrderId())) {
+                    throw new IllegalStateException("cannot handle " + event.getOrderId());
+                }
+            }
+            events.forEach(event -> received.add(event.getId()));
+        }
+    }
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private OrderEventFailureRepository orderEventFailureRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JobRunner jobRunner;
+
+    private final RecordingSubscriber recording = new RecordingSubscriber();
+    private final FailingSubscriber failing = new FailingSubscriber();
+    private OrderEventDispatcher dispatcher;
+    private TransactionTemplate transactionTemplate;
+
+    @BeforeEach
+    void setUp() {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory(
+                Map.of("recording", recording, "failing", failing));
+        dispatcher = new OrderEventDispatcher(orderEventRepository, orderEventFailureRepository,
+                beans.getBeanProvider(OrderEventSubscriber.class), transactionManager, jobRunner,
+                new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(dispatcher, "batchSize", 200);
+        ReflectionTestUtils.setField(dispatcher, "maxAttempts", 3);
+        ReflectionTestUtils.setField(dispatcher, "retryBackoff", Duration.ZERO);
+        ReflectionTestUtils.setField(dispatcher, "maxRetryBackoff", Duration.ZERO);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void failingSubscriberDoesNotHoldUpTheOthers() {
+        String poison = newOrderId();
+        failing.poisoned.add(poison);
+        List<Long> ids = publishAndDispatch(newOrderId(), poison, newOrderId());
+
+        assertTrue(recording.received.containsAll(ids));
+        for (Long id : ids) {
+            assertNotNull(orderEventRepository.findById(id).orElseThrow().getDispatchedAt());
+            assertEquals(1, failure(id).getAttempts());
+        }
+        assertTrue(failing.received.isEmpty());
+    }
+
+    @Test
+    void failedEventsAreRedeliveredOneAtATime() {
+        String poison = newOrderId();
+        failing.poisoned.add(poison);
+        List<Long> ids = publishAndDispatch(newOrderId(), poison, newOrderId());
+
+        dispatcher.redeliverFailed();
+
+        // The events the subscriber can handle get through; only the poisoned one is still pending.
+        assertTrue(failing.received.containsAll(List.of(ids.get(0), ids.get(2))));
+        assertNull(failureOrNull(ids.get(0)));
+        assertNull(failureOrNull(ids.get(2)));
+        assertEquals(2, failure(ids.get(1)).getAttempts());
+        assertNull(failure(ids.get(1)).getParkedAt());
+
+        failing.poisoned.remove(poison);
+        dispatcher.redeliverFailed();
+
+        assertTrue(failing.received.contains(ids.get(1)));
+        assertNull(failureOrNull(ids.get(1)));
+    }
+
+    @Test
+    void eventIsParkedAfterMaxAttempts() {
+        String poison = newOrderId();
+        failing.poisoned.add(poison);
+        Long id = publishAndDispatch(poison).get(0);
+
+        dispatcher.redeliverFailed();
+        dispatcher.redeliverFailed();
+        OrderEventFailure parked = failure(id);
+        assertEquals(3, parked.getAttempts());
+        assertNotNull(parked.getParkedAt());
+        assertTrue(parked.getLastError().contains("cannot handle"));
+
+        dispatcher.redeliverFailed();
+        assertEquals(3, failure(id).getAttempts());
+    }
+
+    private List<Long> publishAndDispatch(String... orderIds) {
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = new ArrayList<>();
+            for (String orderId : orderIds) {
+                OrderEvent event = new OrderEvent();
+                event.setOrderId(orderId);
+                event.setType(OrderEventType.TRACKING_UPDATED);
+                event.setNewValue("AWB-" + orderId);
+                ids.add(orderEventRepository.save(event).getId());
+            }
+            orderEventRepository.flush();
+            dispatcher.dispatch();
+            return ids;
+        });
+    }
+
+    private OrderEventFailure failure(Long eventId) {
+        OrderEventFailure failure = failureOrNull(eventId);
+        assertNotNull(failure, "no failure recorded for event " + eventId);
+        return failure;
+    }
+
+    private OrderEventFailure failureOrNull(Long eventId) {
+        return orderEventFailureRepository.findAll().stream()
+                .filter(failure -> failure.getEventId().equals(eventId))
+                .filter(failure -> failure.getSubscriber().equals("FailingSubscriber"))
+                .findFirst()
+                .orElse(null);
+    }
+
+    private static String newOrderId() {
+        return "test-" + UUID.randomUUID();
+    }
+}
@@ -0,0 +1,126 @@
+package com.oli.oli.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.oli.oli.model.OrderEntity;
+import com.oli.oli.model.PaymentWebhookEvent;
+import com.oli.oli.repository.OrderRepository;
+import com.oli.oli.repository.PaymentWebhookEventRepository;
+
+@SpringBootTest
+class PaymentWebhookProcessorTest {
+
+    @Autowired
+    private PaymentWebhookProcessor processor;
+
+    @Autowired
+    private PaymentReconciliationService reconciliationService;
+
+    @Autowired
+    private PaymentWebhookEventRepository webhookEventRepository;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockitoBean
+    private PaymentStatusService paymentStatusService;
+
+    @MockitoBean
+    private CashfreeClient cashfreeClient;
+
+    @Test
+    void failingEventDoesNotRollBackTheOthers() {
+        String bad = "CF-BAD-" + UUID.randomUUID();
+        String good = "CF-GOOD-" + UUID.randomUUID();
+        when(paymentStatusService.apply(eq(bad), anyString()))
+                .thenThrow(new OptimisticLockingFailureException("order changed concurrently"));
+        when(paymentStatusService.apply(eq(good), anyString())).thenReturn(true);
+        Long badId = webhook(bad);
+        Long goodId = webhook(good);
+
+        Instant before = Instant.now();
+        processor.process();
+
+        PaymentWebhookEvent applied = webhookEventRepository.findById(goodId).orElseThrow();
+        assertNotNull(applied.getProcessedAt());
+        assertNull(applied.getLastError());
+
+        PaymentWebhookEvent failed = webhookEventRepository.findById(badId).orElseThrow();
+        assertNull(failed.getProcessedAt());
+        assertTrue(failed.getAttempts() >= 1);
+        assertTrue(failed.getLastError().contains("order changed concurrently"));
+        assertTrue(failed.getNextAttemptAt().isAfter(before));
+    }
+
+    @Test
+    void reconciliationChecksEveryUnsettledOrderInTheWindow() {
+        // Cashfree still reports abandoned checkouts as ACTIVE, so none of these ever leaves the window.
+        when(cashfreeClient.getOrder(anyString()))
+                .thenReturn(ResponseEntity.ok(Map.of("order_status", "ACTIVE")));
+        Instant createdAt = Instant.now().minus(1, ChronoUnit.HOURS).truncatedTo(ChronoUnit.SECONDS);
+        String first = unsettledOrder(createdAt);
+        String second = unsettledOrder(createdAt);
+        String newest = unsettledOrder(createdAt.plusSeconds(1));
+
+        Object batchSize = ReflectionTestUtils.getField(reconciliationService, "batchSize");
+        ReflectionTestUtils.setField(reconciliationService, "batchSize", 2);
+        try {
+            ReflectionTestUtils.invokeMethod(reconciliationService, "reconcileUnsettled");
+        } finally {
+            ReflectionTestUtils.setField(reconciliationService, "batchSize", batchSize);
+        }
+
+        verify(cashfreeClient).getOrder(first);
+        verify(cashfreeClient).getOrder(second);
+        verify(cashfreeClient).getOrder(newest);
+    }
+
+    private Long webhook(String cashfreeOrderId) {
+        PaymentWebhookEvent event = new PaymentWebhookEvent();
+        event.setEventKey(UUID.randomUUID().toString().replace("-", ""));
+        event.setEventType("PAYMENT_SUCCESS_WEBHOOK");
+        event.setCashfreeOrderId(cashfreeOrderId);
+        event.setPaymentStatus("SUCCESS");
+        event.setPayload("{}");
+        return webhookEventRepository.save(event).getId();
+    }
+
+    private String unsettledOrder(Instant createdAt) {
+        OrderEntity order = new OrderEntity();
+        order.setId("RECON-" + UUID.randomUUID());
+        order.setCustomerName("Reconcile Test");
+        order.setCustomerEmail("reconcile@example.com");
+        order.setTotal(new BigDecimal("120"));
+        order.setPaymentStatus("pending");
+        order.setCashfreeOrderId("CF-" + order.getId());
+        orderRepository.save(order);
+        jdbcTemplate.update("UPDATE orders SET created_at = ? WHERE id = ?", Timestamp.from(createdAt), order.getId());
+        return order.getCashfreeOrderId();
+    }
+}
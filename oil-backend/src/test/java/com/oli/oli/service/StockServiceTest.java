@@ -0,0 +1,223 @@
+package com.oli.oli.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.oli.oli.dto.StockLevelDto;
+import com.oli.oli.model.Category;
+import com.oli.oli.model.OrderEvent;
+import com.oli.oli.model.OrderEventType;
+import com.oli.oli.model.OrderItemEntity;
+import com.oli.oli.model.Product;
+import com.oli.oli.model.StockReservation;
+import com.oli.oli.model.StockReservationStatus;
+import com.oli.oli.repository.CategoryRepository;
+import com.oli.oli.repository.ProductRepository;
+import com.oli.oli.repository.StockReservationRepository;
+
+@SpringBootTest
+class StockServiceTest {
+
+    @Autowired
+    private StockService stockService;
+
+    @Autowired
+    private StockReservationRepository stockReservationRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    private Long productId;
+
+    @BeforeEach
+    void createProduct() {
+        String suffix = UUID.randomUUID().toString();
+        Category category = new Category();
+        category.setName("Stock " + suffix);
+        category.setSlug("stock-category-" + suffix);
+        categoryRepository.save(category);
+
+        Product product = new Product();
+        product.setCategory(category);
+        product.setName("Groundnut oil");
+        product.setSlug("stock-product-" + suffix);
+        product.setPrice(new BigDecimal("249"));
+        product.setInStock(true);
+        productId = productRepository.save(product).getId();
+    }
+
+    @Test
+    void reservationTakesStockOnlyWhileEnoughIsLeft() {
+        stockService.set(productId, null, 5, 1);
+
+        String first = newOrderId();
+        stockService.reserve(first, items(3));
+        assertEquals(2, available());
+
+        ResponseStatusException ex = assertThrows(ResponseStatusException.class,
+                () -> stockService.reserve(newOrderId(), items(3)));
+        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+        assertEquals(2, available());
+        assertEquals(3, reserved(first, StockReservationStatus.RESERVED));
+    }
+
+    @Test
+    void quantityNoSingleStripeHoldsIsTakenFromSeveral() {
+        stockService.set(productId, null, 6, 3);
+
+        String orderId = newOrderId();
+        stockService.reserve(orderId, items(5));
+
+        assertEquals(1, available());
+        assertEquals(5, reserved(orderId, StockReservationStatus.RESERVED));
+        assertTrue(reservations(orderId).size() > 1);
+    }
+
+    @Test
+    void drainingTheLastStripeTakesTheProductOutOfStock() {
+        stockService.set(productId, null, 2, 2);
+
+        stockService.reserve(newOrderId(), items(2));
+
+        assertEquals(0, available());
+        assertFalse(productRepository.findById(productId).orElseThrow().isInStock());
+    }
+
+    @Test
+    void failedPaymentReleasesTheReservation() {
+        assertReleasedBy(OrderEventType.PAYMENT_STATUS_CHANGED, "failed");
+    }
+
+    @Test
+    void expiredPaymentReleasesTheReservation() {
+        assertReleasedBy(OrderEventType.PAYMENT_STATUS_CHANGED, "expired");
+    }
+
+    @Test
+    void cancellationReleasesTheReservation() {
+        assertReleasedBy(OrderEventType.STATUS_CHANGED, "Cancelled");
+    }
+
+    @Test
+    void paidOrderKeepsItsStock() {
+        stockService.set(productId, null, 4, 2);
+        String orderId = newOrderId();
+        stockService.reserve(orderId, items(3));
+
+        stockService.onOrderEvents(List.of(event(orderId, OrderEventType.PAYMENT_STATUS_CHANGED, "paid")));
+        stockService.onOrderEvents(List.of(event(orderId, OrderEventType.PAYMENT_STATUS_CHANGED, "expired")));
+
+        assertEquals(1, available());
+        assertEquals(3, reserved(orderId, StockReservationStatus.COMMITTED));
+    }
+
+    @Test
+    void concurrentCheckoutsNeverOversell() throws Exception {
+        int stock = 10;
+        int checkouts = 32;
+        stockService.set(productId, null, stock, 4);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < checkouts; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        stockService.reserve(newOrderId(), items(1));
+                        return true;
+                    } catch (ResponseStatusException ex) {
+                        assertEquals(HttpStatus.CONFLICT, ex.getStatusCode());
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int succeeded = 0;
+            for (Future<Boolean> result : results) {
+                if (result.get(30, TimeUnit.SECONDS)) {
+                    succeeded++;
+                }
+            }
+            assertEquals(stock, succeeded);
+            assertEquals(0, available());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void assertReleasedBy(OrderEventType type, String value) {
+        stockService.set(productId, null, 4, 2);
+        String orderId = newOrderId();
+        stockService.reserve(orderId, items(3));
+        assertEquals(1, available());
+
+        stockService.onOrderEvents(List.of(event(orderId, type, value)));
+        // Redelivered events must not give the stock back twice.
+        stockService.onOrderEvents(List.of(event(orderId, type, value)));
+
+        assertEquals(4, available());
+        assertEquals(3, reserved(orderId, StockReservationStatus.RELEASED));
+    }
+
+    private long available() {
+        return stockService.levels(productId).stream().mapToLong(StockLevelDto::available).sum();
+    }
+
+    private List<StockReservation> reservations(String orderId) {
+        return stockReservationRepository.findAll().stream()
+                .filter(r -> r.getOrderId().equals(orderId))
+                .toList();
+    }
+
+    private int reserved(String orderId, StockReservationStatus status) {
+        return reservations(orderId).stream()
+                .filter(r -> r.getStatus() == status)
+                .mapToInt(StockReservation::getQuantity)
+                .sum();
+    }
+
+    private List<OrderItemEntity> items(int quantity) {
+        OrderItemEntity item = new OrderItemEntity();
+        item.setProductId(productId);
+        item.setProductName("Groundnut oil");
+        item.setQuantity(quantity);
+        return List.of(item);
+    }
+
+    private static OrderEvent event(String orderId, OrderEventType type, String value) {
+        OrderEvent event = new OrderEvent();
+        event.setOrderId(orderId);
+        event.setType(type);
+        event.setNewValue(value);
+        return event;
+    }
+
+    private static String newOrderId() {
+        return "STOCK-" + UUID.randomUUID();
+    }
+}
@@ -60,6 +60,15 @@ export interface Certificate {
   lastUpdated: string | null;
 }
 
+export interface HomePage {
+  sliders: Slider[];
+  categories: Category[];
+  certificates: Certificate[];
+  featured: Product[];
+  bestsellers: Product[];
+  newLaunches: Product[];
+}
+
 export interface CartItem {
   product: Product;
   quantity: number;
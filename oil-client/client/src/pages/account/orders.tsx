@@ -21,7 +21,7 @@ import {
 } from "@/components/ui/table";
 import { Badge } from "@/components/ui/badge";
 import { useAuth } from "@/hooks/use-auth";
-import { useQuery } from "@tanstack/react-query";
+import { useInfiniteQuery } from "@tanstack/react-query";
 import { oliUrl } from "@/lib/oliApi";
 
 type OrderItemDto = {
@@ -44,6 +44,9 @@ type OrderDto = {
 
 const ORDER_STATUSES = ["All", "Pending", "Processing", "Shipped", "Delivered", "Cancelled"];
 
+// The backend returns the newest orders a page at a time; older ones are fetched with "Load more".
+const ORDERS_PAGE_SIZE = 50;
+
 function getStatusBadgeVariant(status?: string) {
   switch (String(status || "").toLowerCase()) {
     case "delivered":
@@ -70,17 +73,22 @@ export default function OrdersHistory() {
 
   const email = (user?.email as string | undefined) ?? undefined;
 
-  const { data: orders = [], isLoading, error, refetch } = useQuery<OrderDto[]>({
+  const { data, isLoading, error, refetch, fetchNextPage, hasNextPage, isFetchingNextPage } = useInfiniteQuery({
     queryKey: [oliUrl("/api/orders"), email],
-    queryFn: async () => {
-      if (!email) return [];
-      const res = await fetch(oliUrl(`/api/orders?email=${encodeURIComponent(email)}`));
+    initialPageParam: 1,
+    queryFn: async ({ pageParam }) => {
+      if (!email) return [] as OrderDto[];
+      const res = await fetch(
+        oliUrl(`/api/orders?email=${encodeURIComponent(email)}&page=${pageParam}&pageSize=${ORDERS_PAGE_SIZE}`),
+      );
       const json = await res.json();
       if (!res.ok) throw new Error(json?.message || json?.error || "Failed to fetch orders");
       return json as OrderDto[];
     },
+    getNextPageParam: (lastPage, pages) => (lastPage.length < ORDERS_PAGE_SIZE ? undefined : pages.length + 1),
     enabled: !!email,
   });
+  const orders = useMemo(() => data?.pages.flat() ?? [], [data]);
 
   const filtered = useMemo(() => {
     let next = [...orders];
@@ -272,6 +280,13 @@ export default function OrdersHistory() {
                     </TableBody>
                   </Table>
                 </div>
+                {hasNextPage && (
+                  <div className="flex justify-center">
+                    <Button variant="outline" onClick={() => fetchNextPage()} disabled={isFetchingNextPage}>
+                      {isFetchingNextPage ? "Loading…" : "Load more orders"}
+                    </Button>
+                  </div>
+                )}
               </CardContent>
             </Card>
           </div>
@@ -24,7 +24,7 @@ import {
   TableRow,
 } from "@/components/ui/table";
 import { Badge } from "@/components/ui/badge";
-import { useQuery } from "@tanstack/react-query";
+import { useInfiniteQuery } from "@tanstack/react-query";
 import { oliUrl } from "@/lib/oliApi";
 
 type AdminOrderDto = {
@@ -42,6 +42,9 @@ type AdminOrderDto = {
   trackingUrl?: string;
 };
 
+// The backend returns the newest orders a page at a time; older ones are fetched with "Load more".
+const ORDERS_PAGE_SIZE = 200;
+
 const orderStatuses = ["All", "Pending", "Processing", "Shipped", "Delivered", "Cancelled"];
 const deliveryProviders = ["None", "IThink", "Manual"];
 
@@ -59,15 +62,18 @@ export default function AdminOrders() {
   } | null>(null);
   const previewIframeRef = useRef<HTMLIFrameElement | null>(null);
 
-  const { data: orders = [], isLoading, refetch } = useQuery<AdminOrderDto[]>({
+  const { data, isLoading, refetch, fetchNextPage, hasNextPage, isFetchingNextPage } = useInfiniteQuery({
     queryKey: [oliUrl("/api/admin/orders")],
-    queryFn: async () => {
-      const res = await fetch(oliUrl("/api/admin/orders"));
+    initialPageParam: 1,
+    queryFn: async ({ pageParam }) => {
+      const res = await fetch(oliUrl(`/api/admin/orders?page=${pageParam}&pageSize=${ORDERS_PAGE_SIZE}`));
       const json = await res.json();
       if (!res.ok) throw new Error(json?.message || json?.error || "Failed to fetch orders");
       return json as AdminOrderDto[];
     },
+    getNextPageParam: (lastPage, pages) => (lastPage.length < ORDERS_PAGE_SIZE ? undefined : pages.length + 1),
   });
+  const orders = useMemo(() => data?.pages.flat() ?? [], [data]);
 
   const [savingId, setSavingId] = useState<string | null>(null);
   const [editStatus, setEditStatus] = useState<Record<string, string>>({});
@@ -429,6 +435,13 @@ export default function AdminOrders() {
               </TableBody>
             </Table>
           </div>
+          {hasNextPage && (
+            <div className="flex justify-center pt-4">
+              <Button variant="outline" onClick={() => fetchNextPage()} disabled={isFetchingNextPage}>
+                {isFetchingNextPage ? "Loading…" : "Load more orders"}
+              </Button>
+            </div>
+          )}
         </CardContent>
       </Card>
 
@@ -13,7 +13,7 @@ import {
   DialogTitle,
 } from "@/components/ui/dialog";
 import { BadgeCheck, FileText, FlaskConical } from "lucide-react";
-import type { Product, Category, Slider, Certificate } from "@/lib/types";
+import type { Certificate, HomePage } from "@/lib/types";
 import { oliAssetUrl, oliGetJson, oliUrl } from "@/lib/oliApi";
 
 export default function Home() {
@@ -21,28 +21,20 @@ export default function Home() {
   const [previewUrl, setPreviewUrl] = useState<string | null>(null);
   const [previewTitle, setPreviewTitle] = useState<string>("");
 
-  const { data: categories, isLoading: categoriesLoading } = useQuery<Category[]>({
-    queryKey: [oliUrl("/api/categories")],
-    queryFn: () => oliGetJson<Category[]>("/api/categories"),
+  // Every section of the page comes from one request.
+  const { data: home, isLoading } = useQuery<HomePage>({
+    queryKey: [oliUrl("/api/home")],
+    queryFn: () => oliGetJson<HomePage>("/api/home"),
   });
 
-  const { data: sliders, isLoading: slidersLoading } = useQuery<Slider[]>({
-    queryKey: [oliUrl("/api/sliders")],
-    queryFn: () => oliGetJson<Slider[]>("/api/sliders"),
-  });
-
-  const { data: certificates = [] } = useQuery<Certificate[]>({
-    queryKey: [oliUrl("/api/certificates")],
-    queryFn: () => oliGetJson<Certificate[]>("/api/certificates"),
-  });
-
-  const { data: products = [], isLoading: productsLoading } = useQuery<Product[]>({
-    queryKey: [oliUrl("/api/products")],
-    queryFn: () => oliGetJson<Product[]>("/api/products"),
-  });
-
-  const featuredProducts = products.filter((p) => p.featured);
-  const bestsellerProducts = products.filter((p) => p.bestseller);
+  const categories = home?.categories;
+  const sliders = home?.sliders;
+  const certificates = home?.certificates ?? [];
+  const featuredProducts = home?.featured ?? [];
+  const bestsellerProducts = home?.bestsellers ?? [];
+  const categoriesLoading = isLoading;
+  const slidersLoading = isLoading;
+  const productsLoading = isLoading;
 
   const { labCert, fssaiCert } = useMemo(() => {
     const byCertType = new Map<string, Certificate>();